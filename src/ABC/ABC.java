@@ -1,491 +1,1017 @@
-package ABC;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Random;
-
-import utils.*;
-import info.*;
-
-/**
- * Class representing the Artificial Bee Colony algorithm.
- * @author Tanja arevi
- *
- */
-public class ABC {
-	/* Performance statistics */
-	private static long runtime;
-	private static int iteration;
-	private static String iterationsData;
-	
-	/* Airport data */
-	private static int FLIGHTS_COUNT;
-	private static int AIRCRAFTS_COUNT;
-	private static ArrayList<Aircraft> aircrafts;
-	private static boolean ALLOWED_TO_CANCEL; // Allow to cancel flights, assigning NULL aircraft
-	
-	/* ABC parameters*/
-	private static int MAX_CYCLE_NUMBER;
-	private static int COLONY_SIZE;
-	private static int FOOD_NUMBER; // -> COLONY_SIZE/2
-	private static int LIMIT;
-	
-	private static ArrayList<FoodSource> foodSources;
-	
-	private static FoodSource gBest;
-	private static int firstBest;
-	private static int gBestValue;
-	
-	private static Random rand;
-
-	/**
-	 * Executes the ABC algorithm with given parameters. 
-	 * @param max_cycle_number
-	 * @param colony_size
-	 * @param limit_divider number to divide the number of cycles to get the limit - ex 3, 5...
-	 */
-	public static void execute(int max_cycle_number, int colony_size, int limit_divider) {
-		long timeline = System.currentTimeMillis();
-		System.out.println("Artificial Bee Colony - initializing...");
-		reader.readAll();
-		if (ALLOWED_TO_CANCEL) {
-			DATA.addAircraft(new Aircraft()); 
-		}
-		System.out.println("\t- All data was read and initialized. \n\t- Time elapsed: "
-						+ (System.currentTimeMillis() - timeline) + "ms.\n");
-		clean();
-		System.out.println("Initializing.");
-		/* Initializing ABC parameters */
-		initialize(max_cycle_number, colony_size, limit_divider);
-
-		/* Executing algorithm */
-		System.out.println("Particle Swarm Optimization Algorithm - Starting now...");
-		PSOAlgorithm();
-		
-		runtime = System.currentTimeMillis() - timeline;
-		System.out.println("\nDone running. " 
-				+ "\n\t- Time elapsed: "
-				+ (System.currentTimeMillis() - timeline) + "ms.\n"
-				+ "\t- First best: " + firstBest 
-				+ "\n\t- Last best: " + gBestValue);
-	}
-	
-	public static void clean() {
-		runtime = 0;
-		iteration = 0;
-		iterationsData = null;
-		
-		FLIGHTS_COUNT = 0;
-		AIRCRAFTS_COUNT = 0;
-		aircrafts = null;
-		ALLOWED_TO_CANCEL = false; // Allow to cancel flights, assigning NULL aircraft
-		
-		MAX_CYCLE_NUMBER = 0;
-		COLONY_SIZE = 0;
-		FOOD_NUMBER = 0; // -> COLONY_SIZE/2
-		LIMIT = 0;
-		
-		foodSources = null;
-	
-		gBest = null;
-		gBestValue = Integer.MAX_VALUE;
-		firstBest = Integer.MAX_VALUE;
-	}
-	
-	/**
-	 * Initialization of the parameters of ABC algorithm.
-	 */
-	public static void initialize(int max_cycle_number, int colony_size, int limit_divider) {
-		aircrafts = DATA.getAircrafts(); // not helping
-		FLIGHTS_COUNT = DATA.getFlights().size();
-		AIRCRAFTS_COUNT = aircrafts.size();
-		
-		MAX_CYCLE_NUMBER = max_cycle_number;
-		COLONY_SIZE = colony_size;
-		FOOD_NUMBER = COLONY_SIZE / 2;
-		LIMIT = MAX_CYCLE_NUMBER / limit_divider; 
-		
-		firstBest = 0;
-		gBest = null;
-		foodSources = new ArrayList<FoodSource>();
-		
-		rand = new Random();
-	}
-
-	/**
-	 * The Artificial Bee Colony algorithm. 
-	 * Contains three different phases: Employed Bees Phase, Onlooker Bees Phase and Scout Bees Phase. In every iteration the best solution so far is being updated.
-	 */
-	public static void PSOAlgorithm() {
-		/* Initialization phase */
-		long timeline = System.currentTimeMillis();
-		initializeFoodSources();
-		System.out.println("\t- Food sources have been initialized. \n\t- Time elapsed: "
-				+ (System.currentTimeMillis() - timeline) + "ms.\n");
-		int round = 0;
-		updateBestSolution(round);
-		firstBest = gBestValue;
-		iterationsData = "";
-		
-		do {
-			System.out.println("\nRound " + round + "\n\tBest: " + gBestValue);
-			iterationsData += Integer.toString(gBestValue) + "\n";
-			
-			/* Employed bees phase */
-			employedBeesPhase();
-			
-			calculateFitness();
-			calculateProbabilities();
-			
-			/* Onlooker bees phase */
-			onlookerBeesPhase();
-			updateBestSolution(round);
-			
-			/* Scout bees phase */
-			scoutBeesPhase();
-			updateBestSolution(round);
-
-			round++;
-		} while (round < MAX_CYCLE_NUMBER);
-	}
-
-	/**
-	 * Sets random solutions as initial food sources; i.e. random arangements of
-	 * aircrafts and flights
-	 */
-	private static void initializeFoodSources() {
-		// set random arangements of aircrafts and flights 
-		for (int i = 0; i < FOOD_NUMBER; i++) {
-			FoodSource foodSource = new FoodSource(FLIGHTS_COUNT, aircrafts);
-			
-			// dataset for checking feasibility
-			HashMap<Aircraft, ArrayList<Date>> operationalDates = new HashMap<Aircraft, ArrayList<Date>>();
-			for (Aircraft ac : aircrafts) {
-				operationalDates.put(ac, new ArrayList<Date>());
-			}
-			
-			// create random solution -> contains set of pairs <flight, aircraft>, it's fitness, probability, ...
-			ArrayList<Pair> tempPairs = new ArrayList<Pair>();
-			for (int j = 0; j < FLIGHTS_COUNT; j++) {
-				int flightIndex = j;
-				int aircraftIndex = rand.nextInt(AIRCRAFTS_COUNT);
-
-				Pair newPair = new Pair();
-				Flight flight = DATA.getFlights().get(flightIndex);
-				newPair.setFlight(flight);
-				newPair.setAircraft(aircrafts.get(aircraftIndex), aircraftIndex);
-				
-				while(!isFeasible(operationalDates, aircrafts.get(aircraftIndex), flight.getFlight_date())) {
-					aircraftIndex = rand.nextInt(AIRCRAFTS_COUNT);
-					newPair.setAircraft(aircrafts.get(aircraftIndex), aircraftIndex);
-				}
-				tempPairs.add(newPair);
-				operationalDates.get(aircrafts.get(aircraftIndex)).add(flight.getFlight_date());
-			}
-			
-			// set nectar to foodSOurce -> list<flight, aircraft>
-			if (foodSource.setNectar(tempPairs) != FLIGHTS_COUNT)
-				System.out.println("Wrong flight-aircraft pairing! - init phase");
-			
-			// computing the value of objective function for the food source
-			foodSource.setMap(operationalDates);
-			foodSource.computeObjectiveFunction();
-			
-			foodSources.add(foodSource);
-		}
-	}
-
-	/**
-	 * Checks if aircraft already operates on the certain date in same solution
-	 * @param operationalDates
-	 * @param aircraft
-	 * @param flight_date
-	 * @return true if aircraft is free on flight_date
-	 */
-	private static boolean isFeasible(HashMap<Aircraft, ArrayList<Date>> operationalDates, Aircraft aircraft,
-			Date flight_date) {
-		if (operationalDates.get(aircraft).contains(flight_date)) return false;
-		return true;
-	}
-
-	/**
-	 * Finds the foodSource with least value of objective function.
-	 * @param number of the current iteration
-	 */
-	private static void updateBestSolution(int round) {
-		gBest = Collections.min(foodSources);
-		gBestValue = gBest.getObjectiveFunction();
-		iteration = round;
-	}
-
-	/**
-	 * Employed bees aim to find better solutions in their neighborhood.
-	 */
-	private static void employedBeesPhase() {
-		int neighborBeeIndex = 0;
-		FoodSource currentBee = null;
-		FoodSource neighborBee = null;
-
-		for (int i = 0; i < FOOD_NUMBER; i++) {
-			// finding neighbour -> picking some other food source within neighborhood
-			neighborBeeIndex = getExclusiveRandomNumber(FOOD_NUMBER - 1, i);
-			currentBee = foodSources.get(i);
-			neighborBee = foodSources.get(neighborBeeIndex);
-			sendToWork(currentBee, neighborBee);
-		}
-	}
-
-	/**
-	 * Sets the fitness of each solution based on costs calculated
-	 */
-	public static void calculateFitness() {
-		// Lowest errors = 100%, Highest errors = 0%
-		FoodSource thisFood = null;
-		double bestScore = 0.0;
-		double worstScore = 0.0;
-
-		worstScore = Collections.max(foodSources).getObjectiveFunction();
-
-		// Convert to a weighted percentage.
-		bestScore = worstScore - Collections.min(foodSources).getObjectiveFunction();
-
-		// Scale fitness of all food sources between the best and the worst one.
-		for (int i = 0; i < FOOD_NUMBER; i++) {
-			thisFood = foodSources.get(i);
-			thisFood.setFitness((worstScore - thisFood.getObjectiveFunction())
-					* 100.0 / bestScore);
-		}
-	}
-
-	/**
-	 * Sets the selection probability of each solution. The higher the fitness
-	 * the greater the probability.
-	 */
-	public static void calculateProbabilities() {
-		FoodSource thisFood = null;
-		/* Finding food source with maximal fitness */
-		double maxfit = foodSources.get(0).getFitness();
-
-		for (int i = 1; i < FOOD_NUMBER; i++) {
-			thisFood = foodSources.get(i);
-			if (thisFood.getFitness() > maxfit) {
-				maxfit = thisFood.getFitness();
-			}
-		}
-
-		for (int j = 0; j < FOOD_NUMBER; j++) {
-			thisFood = foodSources.get(j);
-			thisFood.setSelectionProbability((0.9 * (thisFood.getFitness() / maxfit)) + 0.1);
-		}
-	}
-	
-	/**
-	 * Onlooker bees use the information about food sources from Employed Bees to decide which food source to choose.
-	 */
-	private static void onlookerBeesPhase() {
-		int i = 0;
-		int t = 0;
-		int neighborBeeIndex = 0;
-		FoodSource currentBee = null;
-		FoodSource neighborBee = null;
-
-		while (t < FOOD_NUMBER) {
-			currentBee = foodSources.get(i);
-			/* If the solution is selected */
-			if (rand.nextDouble() < currentBee.getSelectionProbability()) {
-				t++;
-				neighborBeeIndex = getExclusiveRandomNumber(FOOD_NUMBER - 1, i);
-				neighborBee = foodSources.get(neighborBeeIndex);
-				sendToWork(currentBee, neighborBee);				
-			}
-			i++;
-			if (i == FOOD_NUMBER) {
-				i = 0;
-			}
-		}
-	}
-	
-	/**
-	 * Finds food sources which have been abandoned/reached the limit.
-     * Scout bees will generate a totally random solution from the existing and it will also reset its trials back to zero.
-     *
-     */
-    public static void scoutBeesPhase() {
-        FoodSource currentBee = null;
-
-        for(int i =0; i < FOOD_NUMBER; i++) {
-            currentBee = foodSources.get(i);
-            /* If food source remained unchanged over the limit but it's not the global best*/
-            if(currentBee.getTrials() >= LIMIT && currentBee.getObjectiveFunction() != gBestValue) {
-            	// create random solution
-            	ArrayList<Pair> tempPairs = new ArrayList<Pair>();
-            	HashMap<Aircraft, ArrayList<Date>> operationalDates = new HashMap<Aircraft, ArrayList<Date>>();
-            	for (Aircraft ac : aircrafts) {
-    				operationalDates.put(ac, new ArrayList<Date>());
-    			}
-            	for (int j = 0; j < FLIGHTS_COUNT; j++) {
-    				int flightIndex = j;
-    				int aircraftIndex = rand.nextInt(AIRCRAFTS_COUNT);
-    	
-    				Pair newPair = new Pair();
-    				Flight flight = DATA.getFlights().get(flightIndex);
-    				newPair.setFlight(flight);
-    				while (!isFeasible(operationalDates, aircrafts.get(aircraftIndex), flight.getFlight_date())) {
-    					aircraftIndex = rand.nextInt(AIRCRAFTS_COUNT);
-    				}
-    				newPair.setAircraft(aircrafts.get(aircraftIndex), aircraftIndex);
-    				tempPairs.add(newPair);
-    			}
-                // compute its objective function value
-                currentBee.computeObjectiveFunction();
-                // set the new solution's trials back to 0
-                currentBee.setTrials(0);
-                currentBee.setMap(operationalDates); 
-            }
-        }
-    }
-    
-    /** Gets a random number with the exception of the parameter
-	 *
-	 * @param: the maximum random number
-	 * @param: number to to be chosen
-	 * @return: random number
-	 */ 
-  public static int getExclusiveRandomNumber(int high, int except) {
-      boolean done = false;
-      int getRand = 0;
-
-      while(!done) {
-          getRand = rand.nextInt(high);
-          if(getRand != except){
-              done = true;
-          }
-      }
-      return getRand;     
-  }
-  
-  /** The optimization part of the algorithm. improves the currentbee by choosing a random neighbor bee. the changes is a randomly generated number of times to try and improve the current solution.
-	 *
-	 * @param: the currently selected bee
-	 * @param: a randomly selected neighbor bee
-	 * @param: the number of times to try and improve the solution
-	 */
-	private static void sendToWork(FoodSource currentBee, FoodSource neighborBee) {
-		int currObjectiveFunction = 0;
-		int newObjectiveFunction = 0;
-		int paramToChange;
-		Pair pairToChange;
-		int currAircraftIndex;
-		Pair pairFromNeigh;
-		int neighAircraftIndex;
-		int newValue;
-		double q;
-		
-		// save current value of objective function
-		currObjectiveFunction = currentBee.getObjectiveFunction();
-		// pick a parameter to change -> index of flight that will change its operating aircraft
-		paramToChange = rand.nextInt(FLIGHTS_COUNT);	
-		
-		// calculate new value -> new aircraft index for flight on index paramToChange
-		pairToChange = currentBee.getNectar().get(paramToChange);
-		pairFromNeigh = neighborBee.getNectar().get(paramToChange);
-		
-		
-		currAircraftIndex = pairToChange.getAircraft().getIndex();
-		neighAircraftIndex = pairFromNeigh.getAircraft().getIndex();
-		
-		//remove old aircraft data from solution
-		currentBee.removeAircraftData(paramToChange, pairToChange.getFlight().getFlight_date());
-		// v_mi = x_mi + q_mi*(x_mi - x_ki)
-		q = (rand.nextDouble()-0.5)*2; 
-		newValue = (int) (currAircraftIndex + q * (neighAircraftIndex - currAircraftIndex));
-		
-		// Keeping value in limits
-		if (newValue < 0)
-			newValue = -newValue;
-		while (newValue > AIRCRAFTS_COUNT - 1)
-			newValue -= AIRCRAFTS_COUNT;
-		
-		/* New solution update */
-		HashMap<Aircraft, ArrayList<Date>> map = currentBee.getMap();
-		while (!isFeasible(map, aircrafts.get(newValue), currentBee.getPair(paramToChange).getFlight().getFlight_date())) {
-			q = (rand.nextDouble()-0.5)*2; // [-1,1)
-			newValue = (int) (currAircraftIndex + q * (neighAircraftIndex - currAircraftIndex));
-			
-			// Keeping value in limits
-			if (newValue < 0)
-				newValue = -newValue;
-			while (newValue > AIRCRAFTS_COUNT - 1)
-				newValue -= AIRCRAFTS_COUNT;
-		}
-		currentBee.getPair(paramToChange).setAircraft(aircrafts.get(newValue), newValue);
-		ArrayList<Date> temp = map.get(aircrafts.get(newValue));
-		temp.add(currentBee.getPair(paramToChange).getFlight().getFlight_date());
-		map.put(aircrafts.get(newValue), temp);
-		currentBee.setMap(map);
-		/* Compute objective function for the new food source */
-		currentBee.computeObjectiveFunction();
-		newObjectiveFunction = currentBee.getObjectiveFunction();
-		
-		/* Greedy for picking a better solution */
-		/* No improvement */
-        if(currObjectiveFunction < newObjectiveFunction) {
-            currentBee.getPair(paramToChange).setAircraft(aircrafts.get(currAircraftIndex), currAircraftIndex);
-            currentBee.removeAircraftData(paramToChange, pairToChange.getFlight().getFlight_date());
-            currentBee.computeObjectiveFunction();
-            temp = map.get(aircrafts.get(currAircraftIndex));
-    		temp.add(currentBee.getPair(paramToChange).getFlight().getFlight_date());
-            currentBee.getMap().put(aircrafts.get(currAircraftIndex), temp);
-            currentBee.setTrials(currentBee.getTrials() + 1);
-        /* Improved solution */
-        } else {				
-            currentBee.setTrials(0);
-        }  
-	}
-
-
-	public static String getNumberOfFlights() {
-		return Integer.toString(FLIGHTS_COUNT);
-	}
-
-	public static String getRuntime() {
-		return Long.toString(runtime);
-	}
-
-	public static String getFirstBest() {
-		return Integer.toString(firstBest);
-	}
-
-	public static String getLastBest() {
-		return Integer.toString(gBestValue);
-	}
-	
-	public static String getIteartionsData() {
-		return iterationsData;
-	}
-
-	public static String getImprovementRate() {
-		double percentage = (firstBest - gBestValue);
-		percentage /= firstBest;
-		percentage *= 100;
-		long factor = (long) Math.pow(10, 2);
-		percentage *= factor;
-		long tmp = Math.round(percentage);
-		percentage = (double) tmp / factor;
-		return Double.toString(percentage);
-	}
-
-	public static String getIterationGBest() {
-		return Integer.toString(iteration);
-	}
-	
-	public static FoodSource getBestSolution() {
-		return gBest;
-	}
-
-	public static String getNumberOfAircrafts() {
-		return Integer.toString(AIRCRAFTS_COUNT);
-	}
-
+package ABC;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+
+import info.*;
+
+/**
+ * Class representing the Artificial Bee Colony algorithm.
+ * @author Tanja Šarčević
+ *
+ */
+public class ABC {
+	/* Performance statistics */
+	private long runtime;
+	private int iteration;
+	private final Telemetry telemetry; // statistics of every cycle
+	private final long[] sample; // sample of the current cycle, by Telemetry column
+	
+	/* Airport data */
+	private final Problem problem;
+	private final List<Flight> flights;
+	private final List<Aircraft> aircrafts;
+	private final CostTable costs;
+	private final CandidateLists candidates;
+	private final FlightTimes flightTimes;
+	private final int FLIGHTS_COUNT;
+	private final int AIRCRAFTS_COUNT;
+	
+	/* Feasibility parameters */
+	private final boolean ROTATIONS; // Check departure/arrival times instead of one flight per day
+	private final int MIN_TURNAROUND; // minutes between arrival and next departure of an aircraft
+	private final boolean AIRPORT_CONTINUITY; // Next flight of an aircraft departs where the previous landed
+	
+	/* ABC parameters*/
+	private final int MAX_CYCLE_NUMBER;
+	private final int COLONY_SIZE;
+	private final int FOOD_NUMBER; // -> COLONY_SIZE/2
+	private final int LIMIT;
+	private final int MAX_FOOD_NUMBER; // FOOD_NUMBER, twice as many if the colony is adaptive
+	private final Long SEED;
+	private final Initializer initializer; // creates the solutions of the initial food sources and the scouts
+	private static final int MAX_NEIGHBOR_TRIES = 10; // tries to find a feasible neighbor value
+	
+	private ArrayList<FoodSource> foodSources;
+	
+	/* Adaptive control: limit, colony size and step of the neighbor values follow the search */
+	private final boolean ADAPTIVE;
+	private static final int ADAPTATION_INTERVAL = 10; // cycles between adaptations
+	private static final double STAGNATION_IMPROVEMENT = 1e-4; // relative improvement of the best in an interval below which the search stagnates
+	private static final double LOW_DIVERSITY = 0.05; // mean fraction of flights in which food sources differ from the best
+	private static final double HIGH_DIVERSITY = 0.5;
+	private static final double MIN_STEP_SCALE = 0.25;
+	private static final double MAX_STEP_SCALE = 4;
+	private int limit; // trials after which a food source is abandoned
+	private int foodNumber; // food sources in the colony
+	private double stepScale; // q of the neighbor value is drawn from [-stepScale, stepScale)
+	private int intervalStartBest; // best at the start of the adaptation interval
+	private ArrayList<String> adaptations; // changes made by the adaptive control, for the run log
+	
+	private FoodSource gBest;
+	private int firstBest;
+	private int gBestValue;
+	
+	private StatefulRandom rand;
+	
+	/* Parallel execution */
+	private final ForkJoinPool pool; // Pool running the bees of the food sources, null to run them on the calling thread
+	private StatefulRandom[] streams; // Random stream of each food source, used only by its own bees
+	private int[][] moveStats; // moves of the bees of each food source in the current phase, by MOVES, ACCEPTED, RETRIES, SCOUTED
+
+	/* Stopping criteria, besides the maximal number of cycles */
+	private final long TIME_BUDGET; // milliseconds from the start of the run, 0 for no deadline
+	private final int STAGNATION_CYCLES; // cycles without improvement of the best, 0 for no limit
+	private final long STAGNATION_MILLIS; // milliseconds without improvement of the best, 0 for no limit
+	private final Integer TARGET_VALUE; // objective function good enough to stop, null for none
+	private volatile int run; // number of the current or last run, counted from 1
+	private volatile int cancelledRun; // number of the last run cancelled, 0 for none
+	private long deadline;
+	private int lastImprovementRound;
+	private long lastImprovementTime;
+	private int cycles; // cycles run
+	private long lastCycle; // duration of the last cycle in milliseconds, 0 before the first one
+	private String stopReason;
+	private volatile int[] bestSchedule; // copy of the best nectar so far, readable while the solver runs
+
+	/* Checkpoints */
+	private final String CHECKPOINT_FILE; // null for no checkpoints
+	private final int CHECKPOINT_INTERVAL; // cycles between checkpoints
+	private Checkpoint checkpoint; // state of the colony being written, reused by every checkpoint
+	private ExecutorService checkpointWriter;
+	private Future<?> pendingCheckpoint;
+
+	/* Columns of moveStats */
+	static final int MOVES = 0;
+	static final int ACCEPTED = 1;
+	static final int RETRIES = 2;
+	static final int SCOUTED = 3;
+
+	/**
+	 * Creates a solver for the problem. The solver does not modify the problem, so solvers
+	 * for the same problem can run concurrently; one solver runs one execution at a time.
+	 * @param problem flights and aircrafts to schedule
+	 * @param parameters parameters of the algorithm
+	 */
+	public ABC(Problem problem, Parameters parameters) {
+		this.problem = problem;
+		this.flights = problem.getFlights();
+		this.aircrafts = problem.getAircrafts();
+		this.costs = problem.getCosts();
+		this.candidates = problem.getCandidates();
+		this.flightTimes = problem.getFlightTimes();
+		this.FLIGHTS_COUNT = flights.size();
+		this.AIRCRAFTS_COUNT = aircrafts.size();
+		
+		this.ROTATIONS = parameters.isRotations();
+		this.MIN_TURNAROUND = parameters.getMin_turnaround();
+		this.AIRPORT_CONTINUITY = parameters.isAirport_continuity();
+		
+		this.MAX_CYCLE_NUMBER = parameters.getMax_cycle_number();
+		this.COLONY_SIZE = parameters.getColony_size();
+		this.FOOD_NUMBER = COLONY_SIZE / 2;
+		this.LIMIT = MAX_CYCLE_NUMBER / parameters.getLimit_divider();
+		this.ADAPTIVE = parameters.isAdaptive();
+		this.MAX_FOOD_NUMBER = ADAPTIVE ? 2 * FOOD_NUMBER : FOOD_NUMBER;
+		this.SEED = parameters.getSeed();
+		this.initializer = Initializer.create(problem, parameters);
+		this.pool = parameters.getPool();
+		this.telemetry = new Telemetry(Math.max(1, Math.min(parameters.getTelemetry_capacity(), MAX_CYCLE_NUMBER)));
+		this.sample = new long[Telemetry.FOOD_SOURCES + 1];
+		this.TIME_BUDGET = parameters.getTime_budget();
+		this.STAGNATION_CYCLES = parameters.getStagnation_cycles();
+		this.STAGNATION_MILLIS = Math.round(parameters.getStagnation_seconds() * 1000);
+		this.TARGET_VALUE = parameters.getTarget_value();
+		this.CHECKPOINT_FILE = parameters.getCheckpoint_file();
+		this.CHECKPOINT_INTERVAL = parameters.getCheckpoint_interval();
+		if (CHECKPOINT_FILE != null && CHECKPOINT_INTERVAL < 1)
+			throw new IllegalArgumentException("Checkpoint interval must be positive: " + CHECKPOINT_INTERVAL);
+	}
+
+	/**
+	 * Executes the ABC algorithm on the problem with the parameters of the solver.
+	 */
+	public synchronized void execute() {
+		long timeline = System.currentTimeMillis();
+		System.out.println("Artificial Bee Colony - initializing...");
+		/* Initializing ABC state */
+		initialize();
+
+		/* Executing algorithm */
+		System.out.println("Particle Swarm Optimization Algorithm - Starting now...");
+		PSOAlgorithm();
+		
+		finishRun(timeline);
+	}
+	
+	/**
+	 * Records the runtime of a fresh or resumed run and prints its summary.
+	 * @param timeline start of the run, in milliseconds
+	 */
+	private void finishRun(long timeline) {
+		runtime = System.currentTimeMillis() - timeline;
+		System.out.println("\nDone running. " 
+				+ "\n\t- Time elapsed: "
+				+ runtime + "ms.\n"
+				+ "\t- First best: " + firstBest 
+				+ "\n\t- Last best: " + gBestValue
+				+ "\n\t- Cycles: " + cycles + ", stopped by " + stopReason
+				+ (ADAPTIVE ? "\n\t- Adapted to limit " + limit + ", " + foodNumber + " food sources, step "
+						+ String.format("%.2f", stepScale) + " (" + adaptations.size() + " changes)" : ""));
+	}
+	
+	/**
+	 * Initialization of the state of ABC algorithm, so the solver can be executed again.
+	 */
+	void initialize() {
+		run++; // a cancel() before this does not stop the new run
+		runtime = 0;
+		iteration = 0;
+		deadline = TIME_BUDGET > 0 ? System.currentTimeMillis() + TIME_BUDGET : Long.MAX_VALUE;
+		lastImprovementRound = 0;
+		lastImprovementTime = System.currentTimeMillis();
+		cycles = 0;
+		lastCycle = 0;
+		stopReason = null;
+		bestSchedule = null;
+		telemetry.clear();
+		
+		firstBest = 0;
+		gBest = null;
+		gBestValue = Integer.MAX_VALUE;
+		foodSources = new ArrayList<FoodSource>();
+		limit = LIMIT;
+		foodNumber = FOOD_NUMBER;
+		stepScale = 1.0;
+		adaptations = new ArrayList<String>();
+		
+		rand = new StatefulRandom(SEED == null ? new Random().nextLong() : SEED);
+		streams = new StatefulRandom[MAX_FOOD_NUMBER];
+		for (int i = 0; i < MAX_FOOD_NUMBER; i++) {
+			streams[i] = new StatefulRandom(rand.nextLong());
+		}
+		moveStats = new int[MAX_FOOD_NUMBER][SCOUTED + 1];
+	}
+
+	/**
+	 * @return empty occupancy of the aircrafts for a new food source
+	 */
+	private Occupancy newOccupancy() {
+		return newOccupancy(problem, ROTATIONS, MIN_TURNAROUND, AIRPORT_CONTINUITY);
+	}
+
+	/**
+	 * @return empty occupancy of the aircrafts of the problem, with the periods in which
+	 * aircrafts are unavailable already blocked
+	 */
+	static Occupancy newOccupancy(Problem problem, boolean rotations, int minTurnaround, boolean airportContinuity) {
+		Occupancy occupancy;
+		if (rotations)
+			occupancy = new RotationOccupancy(problem.getFlightTimes(), problem.getAircrafts().size(), minTurnaround, airportContinuity);
+		else
+			occupancy = new DayOccupancy(problem.getFlightTimes(), problem.getAircrafts().size());
+		for (Unavailability u : problem.getUnavailabilities()) {
+			occupancy.block(u.getAircraft(), u.getStart(), u.getEnd());
+		}
+		return occupancy;
+	}
+
+	/**
+	 * The Artificial Bee Colony algorithm. 
+	 * Contains three different phases: Employed Bees Phase, Onlooker Bees Phase and Scout Bees Phase. In every iteration the best solution so far is being updated.
+	 */
+	public void PSOAlgorithm() {
+		/* Initialization phase */
+		startColony();
+		
+		runCycles(0);
+	}
+
+	/**
+	 * Runs the cycles from the given one until the maximal number of cycles or until a
+	 * stopping criterion is met, checkpointing the colony every checkpoint interval if a
+	 * checkpoint file is set.
+	 */
+	private void runCycles(int first) {
+		if (CHECKPOINT_FILE != null)
+			startCheckpoints();
+		try {
+			for (int round = first; !stopBefore(round); round++) {
+				runCycle(round);
+				if (CHECKPOINT_FILE != null && (round + 1) % CHECKPOINT_INTERVAL == 0 && round + 1 < MAX_CYCLE_NUMBER)
+					checkpoint(round + 1);
+			}
+		} finally {
+			if (CHECKPOINT_FILE != null)
+				stopCheckpoints();
+		}
+	}
+
+	/**
+	 * Continues the run saved in the checkpoint file from its next cycle to the maximal
+	 * number of cycles, with the parameters of the solver. The food sources, trials and
+	 * random generators are restored, so a run resumed with the same parameters continues
+	 * as it would have without interruption.
+	 * @throws IOException if the checkpoint can not be read or belongs to another problem or colony size
+	 */
+	public synchronized void resume(String checkpointFile) throws IOException {
+		long timeline = System.currentTimeMillis();
+		Checkpoint saved = Checkpoint.read(checkpointFile, FLIGHTS_COUNT, AIRCRAFTS_COUNT, MAX_FOOD_NUMBER);
+		System.out.println("Artificial Bee Colony - resuming from cycle " + saved.round + "...");
+		initialize();
+		rand.setState(saved.randState);
+		for (int i = 0; i < MAX_FOOD_NUMBER; i++) {
+			streams[i].setState(saved.streamStates[i]);
+		}
+		foodNumber = saved.foodNumber;
+		limit = saved.limit;
+		stepScale = saved.stepScale;
+		for (int i = 0; i < foodNumber; i++) {
+			int[] nectar = saved.nectars[i];
+			FoodSource foodSource = new FoodSource(problem, newOccupancy());
+			foodSource.setNectar(nectar);
+			for (int j = 0; j < FLIGHTS_COUNT; j++) {
+				if (nectar[j] < 0 || nectar[j] >= AIRCRAFTS_COUNT)
+					throw new IOException(checkpointFile + " is corrupted: aircraft " + nectar[j] + " for flight " + j);
+				foodSource.getOccupancy().occupy(nectar[j], j);
+			}
+			foodSource.computeObjectiveFunction();
+			foodSource.setTrials(saved.trials[i]);
+			foodSources.add(foodSource);
+		}
+		updateBestSolution(saved.iteration);
+		firstBest = saved.firstBest;
+		intervalStartBest = saved.intervalStartBest;
+		/* the stagnation criteria continue counting from the last improvement before the checkpoint */
+		lastImprovementRound = saved.lastImprovementRound;
+		lastImprovementTime = System.currentTimeMillis() - saved.sinceImprovement;
+
+		runCycles(saved.round);
+
+		finishRun(timeline);
+	}
+
+	/**
+	 * Checks the maximal number of cycles and the stopping criteria before a cycle. When the
+	 * run stops, the reason is kept.
+	 * @param round next cycle to run
+	 * @return true if the run has to stop before the cycle
+	 */
+	boolean stopBefore(int round) {
+		stopReason = round >= MAX_CYCLE_NUMBER ? "maximal number of cycles" : stopReason(round);
+		return stopReason != null;
+	}
+
+	/**
+	 * Stops the run for a reason other than its own criteria, e.g. another island stopping.
+	 */
+	void stop(String reason) {
+		stopReason = reason;
+	}
+
+	/**
+	 * Runs a cycle, counting it and timing it for the time budget.
+	 */
+	void runCycle(int round) {
+		long start = System.currentTimeMillis();
+		cycle(round);
+		cycles++;
+		lastCycle = System.currentTimeMillis() - start;
+	}
+
+	/**
+	 * @param round next cycle to run
+	 * @return why the run has to stop before the cycle, null to run it
+	 */
+	private String stopReason(int round) {
+		if (cancelledRun == run)
+			return "cancelled";
+		if (TARGET_VALUE != null && gBestValue <= TARGET_VALUE)
+			return "target value reached";
+		long now = System.currentTimeMillis();
+		/* the next cycle would not end before the deadline */
+		if (now + lastCycle > deadline)
+			return "time budget";
+		if (STAGNATION_CYCLES > 0 && round - lastImprovementRound >= STAGNATION_CYCLES)
+			return "no improvement in " + STAGNATION_CYCLES + " cycles";
+		if (STAGNATION_MILLIS > 0 && now - lastImprovementTime >= STAGNATION_MILLIS)
+			return "no improvement in " + STAGNATION_MILLIS + " ms";
+		return null;
+	}
+
+	/**
+	 * Stops the run in progress at the end of its current cycle. Can be called from any
+	 * thread; the best solution so far stays available. The cancellation only applies to
+	 * that run: called while no run is in progress, it does not affect the next one.
+	 */
+	public void cancel() {
+		cancelledRun = run;
+	}
+
+	private void startCheckpoints() {
+		checkpointWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "ABC-checkpoint");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		pendingCheckpoint = null;
+	}
+
+	/**
+	 * Copies the state of the colony and writes it on the checkpoint thread, so the search
+	 * only waits for the copy. If the previous checkpoint is still being written this one
+	 * is skipped.
+	 * @param round next cycle to run
+	 */
+	private void checkpoint(int round) {
+		if (pendingCheckpoint != null && !pendingCheckpoint.isDone())
+			return;
+		if (checkpoint == null)
+			checkpoint = new Checkpoint(FLIGHTS_COUNT, AIRCRAFTS_COUNT, MAX_FOOD_NUMBER);
+		checkpoint.foodNumber = foodNumber;
+		checkpoint.round = round;
+		checkpoint.firstBest = firstBest;
+		checkpoint.iteration = iteration;
+		checkpoint.lastImprovementRound = lastImprovementRound;
+		checkpoint.sinceImprovement = System.currentTimeMillis() - lastImprovementTime;
+		checkpoint.limit = limit;
+		checkpoint.stepScale = stepScale;
+		checkpoint.intervalStartBest = intervalStartBest;
+		checkpoint.randState = rand.getState();
+		for (int i = 0; i < MAX_FOOD_NUMBER; i++) {
+			checkpoint.streamStates[i] = streams[i].getState();
+		}
+		for (int i = 0; i < foodNumber; i++) {
+			checkpoint.trials[i] = foodSources.get(i).getTrials();
+			System.arraycopy(foodSources.get(i).getNectar(), 0, checkpoint.nectars[i], 0, FLIGHTS_COUNT);
+		}
+		final Checkpoint state = checkpoint;
+		pendingCheckpoint = checkpointWriter.submit(new Runnable() {
+			public void run() {
+				try {
+					state.write(CHECKPOINT_FILE);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Waits for the checkpoint being written and stops the checkpoint thread.
+	 */
+	private void stopCheckpoints() {
+		try {
+			if (pendingCheckpoint != null)
+				pendingCheckpoint.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+		} finally {
+			checkpointWriter.shutdown();
+			checkpointWriter = null;
+			pendingCheckpoint = null;
+		}
+	}
+
+	/**
+	 * Initializes the food sources and the best solution, before the first cycle.
+	 */
+	void startColony() {
+		long timeline = System.currentTimeMillis();
+		initializeFoodSources();
+		System.out.println("\t- Food sources have been initialized. \n\t- Time elapsed: "
+				+ (System.currentTimeMillis() - timeline) + "ms.\n");
+		updateBestSolution(0);
+		firstBest = gBestValue;
+		intervalStartBest = gBestValue;
+	}
+
+	/**
+	 * One cycle of the algorithm: employed, onlooker and scout bees phases.
+	 * @param round number of the cycle
+	 */
+	void cycle(int round) {
+		sample[Telemetry.CYCLE] = round;
+		
+		/* Employed bees phase */
+		long time = System.nanoTime();
+		employedBeesPhase();
+		sample[Telemetry.EMPLOYED_MOVES] = collectMoveStats(MOVES);
+		sample[Telemetry.EMPLOYED_ACCEPTED] = collectMoveStats(ACCEPTED);
+		sample[Telemetry.RETRIES] = collectMoveStats(RETRIES);
+		
+		calculateFitness();
+		calculateProbabilities();
+		
+		/* Onlooker bees phase */
+		long onlookerTime = System.nanoTime();
+		sample[Telemetry.EMPLOYED_NANOS] = onlookerTime - time;
+		onlookerBeesPhase();
+		updateBestSolution(round);
+		sample[Telemetry.ONLOOKER_MOVES] = collectMoveStats(MOVES);
+		sample[Telemetry.ONLOOKER_ACCEPTED] = collectMoveStats(ACCEPTED);
+		sample[Telemetry.RETRIES] += collectMoveStats(RETRIES);
+		
+		/* Scout bees phase */
+		long scoutTime = System.nanoTime();
+		sample[Telemetry.ONLOOKER_NANOS] = scoutTime - onlookerTime;
+		scoutBeesPhase();
+		updateBestSolution(round);
+		sample[Telemetry.SCOUTS] = collectMoveStats(SCOUTED);
+		sample[Telemetry.SCOUT_NANOS] = System.nanoTime() - scoutTime;
+		
+		if (ADAPTIVE && (round + 1) % ADAPTATION_INTERVAL == 0)
+			adapt(round);
+		
+		sample[Telemetry.BEST] = gBestValue;
+		sample[Telemetry.LIMIT] = limit;
+		sample[Telemetry.FOOD_SOURCES] = foodNumber;
+		double mean = 0.0;
+		for (int i = 0; i < foodNumber; i++) {
+			mean += foodSources.get(i).getObjectiveFunction();
+		}
+		telemetry.record(sample, mean / foodNumber);
+	}
+
+	/**
+	 * Adapts the search to the improvement of the best in the last interval and to the
+	 * diversity of the colony. When the search stagnates, food sources are abandoned sooner
+	 * and neighbor values go further; when the colony has also converged, a new food source
+	 * is added. When the search improves, food sources are exploited longer, neighbor
+	 * values stay closer, and a diverse colony loses its worst food source, down to half
+	 * its initial size, so cycles are cheaper.
+	 */
+	private void adapt(int round) {
+		double improvement = (intervalStartBest - gBestValue) / (double) intervalStartBest;
+		intervalStartBest = gBestValue;
+		double diversity = diversity();
+		int oldLimit = limit;
+		int oldFoodNumber = foodNumber;
+		double oldStepScale = stepScale;
+		if (improvement < STAGNATION_IMPROVEMENT) {
+			limit = Math.max(Math.max(1, LIMIT / 4), limit * 3 / 4);
+			stepScale = Math.min(MAX_STEP_SCALE, stepScale * 1.5);
+			if (diversity < LOW_DIVERSITY && foodNumber < MAX_FOOD_NUMBER) {
+				FoodSource foodSource = new FoodSource(problem, newOccupancy());
+				initializer.scout(foodSource, streams[foodNumber]);
+				foodSources.add(foodSource);
+				foodNumber++;
+				updateBestSolution(round);
+			}
+		} else {
+			limit = Math.min(Math.max(4 * LIMIT, 4), limit * 5 / 4 + 1);
+			stepScale = Math.max(MIN_STEP_SCALE, stepScale / 1.5);
+			FoodSource worst = Collections.max(foodSources);
+			if (diversity > HIGH_DIVERSITY && foodNumber > Math.max(3, FOOD_NUMBER / 2)
+					&& worst.getObjectiveFunction() != gBestValue) {
+				foodSources.remove(worst);
+				foodNumber--;
+			}
+		}
+		if (limit != oldLimit || foodNumber != oldFoodNumber || stepScale != oldStepScale)
+			adaptations.add(String.format("cycle %d: improvement %.6f, diversity %.3f -> limit %d -> %d, "
+					+ "food sources %d -> %d, step %.2f -> %.2f", round, improvement, diversity,
+					oldLimit, limit, oldFoodNumber, foodNumber, oldStepScale, stepScale));
+	}
+
+	/**
+	 * @return mean fraction of the flights in which the food sources differ from the best
+	 */
+	private double diversity() {
+		int[] best = gBest.getNectar();
+		long differences = 0;
+		for (int i = 0; i < foodNumber; i++) {
+			int[] nectar = foodSources.get(i).getNectar();
+			for (int j = 0; j < FLIGHTS_COUNT; j++) {
+				if (nectar[j] != best[j])
+					differences++;
+			}
+		}
+		return differences / ((double) foodNumber * FLIGHTS_COUNT);
+	}
+
+	/**
+	 * @return sum of a column of the move statistics of the food sources, which is reset to 0
+	 */
+	private int collectMoveStats(int column) {
+		int total = 0;
+		for (int i = 0; i < foodNumber; i++) {
+			total += moveStats[i][column];
+			moveStats[i][column] = 0;
+		}
+		return total;
+	}
+
+	/**
+	 * Replaces the worst food source of the colony with a copy of a food source
+	 * coming from another colony, if the migrant is better.
+	 * @param migrant food source of another colony, not modified
+	 * @param round number of the current cycle
+	 */
+	void immigrate(FoodSource migrant, int round) {
+		FoodSource worst = Collections.max(foodSources);
+		if (migrant.getObjectiveFunction() >= worst.getObjectiveFunction())
+			return;
+		worst.copyFrom(migrant);
+		worst.setTrials(0);
+		updateBestSolution(round);
+	}
+
+	/**
+	 * Sets the initial food sources, created by the initializer of the parameters
+	 */
+	void initializeFoodSources() {
+		for (int i = 0; i < foodNumber; i++) {
+			foodSources.add(new FoodSource(problem, newOccupancy()));
+		}
+		runBees(BeesTask.INITIALIZE, null);
+	}
+
+	/**
+	 * Checks if aircraft can operate the flight together with the flights it already operates in same solution
+	 * @param occupancy flights already operated by the aircrafts
+	 * @param aircraft index of the aircraft
+	 * @param flight index of the flight
+	 * @return true if aircraft is free for the flight
+	 */
+	boolean isFeasible(Occupancy occupancy, int aircraft, int flight) {
+		if (aircrafts.get(aircraft).isFake()) return true;
+		return occupancy.isFree(aircraft, flight);
+	}
+
+	/**
+	 * @return true if the flight can be taken from the aircraft without breaking the
+	 * rotation of the aircraft; cancelled flights can always be taken
+	 */
+	boolean isReleasable(Occupancy occupancy, int aircraft, int flight) {
+		if (aircrafts.get(aircraft).isFake()) return true;
+		return occupancy.isReleasable(aircraft, flight);
+	}
+
+	/**
+	 * Finds the foodSource with least value of objective function.
+	 * @param number of the current iteration
+	 */
+	private void updateBestSolution(int round) {
+		gBest = Collections.min(foodSources);
+		int previous = gBestValue;
+		gBestValue = gBest.getObjectiveFunction();
+		iteration = round;
+		if (bestSchedule == null || gBestValue < previous) {
+			bestSchedule = gBest.getNectar().clone();
+			lastImprovementRound = round;
+			lastImprovementTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Employed bees aim to find better solutions in their neighborhood.
+	 */
+	private void employedBeesPhase() {
+		int[][] neighborBeeIndices = new int[foodNumber][];
+
+		for (int i = 0; i < foodNumber; i++) {
+			// finding neighbour -> picking some other food source within neighborhood
+			neighborBeeIndices[i] = new int[] { getExclusiveRandomNumber(foodNumber - 1, i) };
+		}
+		runBees(BeesTask.WORK, neighborBeeIndices);
+	}
+
+	/**
+	 * Sets the fitness of each solution based on costs calculated
+	 */
+	public void calculateFitness() {
+		// Lowest errors = 100%, Highest errors = 0%
+		FoodSource thisFood = null;
+		double bestScore = 0.0;
+		double worstScore = 0.0;
+
+		worstScore = Collections.max(foodSources).getObjectiveFunction();
+
+		// Convert to a weighted percentage.
+		bestScore = worstScore - Collections.min(foodSources).getObjectiveFunction();
+
+		// Scale fitness of all food sources between the best and the worst one.
+		for (int i = 0; i < foodNumber; i++) {
+			thisFood = foodSources.get(i);
+			// All food sources equally good (e.g. after migrations) -> all get the highest fitness
+			if (bestScore == 0.0) {
+				thisFood.setFitness(100.0);
+				continue;
+			}
+			thisFood.setFitness((worstScore - thisFood.getObjectiveFunction())
+					* 100.0 / bestScore);
+		}
+	}
+
+	/**
+	 * Sets the selection probability of each solution. The higher the fitness
+	 * the greater the probability.
+	 */
+	public void calculateProbabilities() {
+		FoodSource thisFood = null;
+		/* Finding food source with maximal fitness */
+		double maxfit = foodSources.get(0).getFitness();
+
+		for (int i = 1; i < foodNumber; i++) {
+			thisFood = foodSources.get(i);
+			if (thisFood.getFitness() > maxfit) {
+				maxfit = thisFood.getFitness();
+			}
+		}
+
+		for (int j = 0; j < foodNumber; j++) {
+			thisFood = foodSources.get(j);
+			thisFood.setSelectionProbability((0.9 * (thisFood.getFitness() / maxfit)) + 0.1);
+		}
+	}
+	
+	/**
+	 * Onlooker bees use the information about food sources from Employed Bees to decide which food source to choose.
+	 */
+	private void onlookerBeesPhase() {
+		int i = 0;
+		int t = 0;
+		FoodSource currentBee = null;
+		int[] selections = new int[foodNumber];
+		int[] selectedBees = new int[foodNumber];
+		int[] neighbors = new int[foodNumber];
+
+		/* Onlookers choose their food sources first, then the chosen food sources are worked on */
+		while (t < foodNumber) {
+			currentBee = foodSources.get(i);
+			/* If the solution is selected */
+			if (rand.nextDouble() < currentBee.getSelectionProbability()) {
+				selectedBees[t] = i;
+				neighbors[t] = getExclusiveRandomNumber(foodNumber - 1, i);
+				selections[i]++;
+				t++;
+			}
+			i++;
+			if (i == foodNumber) {
+				i = 0;
+			}
+		}
+		
+		int[][] neighborBeeIndices = new int[foodNumber][];
+		for (i = 0; i < foodNumber; i++) {
+			neighborBeeIndices[i] = new int[selections[i]];
+			selections[i] = 0;
+		}
+		for (t = 0; t < foodNumber; t++) {
+			i = selectedBees[t];
+			neighborBeeIndices[i][selections[i]++] = neighbors[t];
+		}
+		runBees(BeesTask.WORK, neighborBeeIndices);
+	}
+	
+	/**
+	 * Finds food sources which have been abandoned/reached the limit.
+     * Scout bees will generate a new solution with the initializer and it will also reset its trials back to zero.
+     *
+     */
+    public void scoutBeesPhase() {
+        runBees(BeesTask.SCOUT, null);
+    }
+    
+    /**
+     * Runs the bees of every food source, on the pool if one is set.
+     * @param phase BeesTask.INITIALIZE, BeesTask.WORK or BeesTask.SCOUT
+     * @param neighborBeeIndices for WORK, on position i the neighbors the bees of food source i compare with
+     */
+    private void runBees(int phase, int[][] neighborBeeIndices) {
+        if (pool == null) {
+            for (int i = 0; i < foodNumber; i++) {
+                visitFoodSource(phase, i, neighborBeeIndices);
+            }
+        } else {
+            pool.invoke(new BeesTask(phase, neighborBeeIndices, 0, foodNumber));
+        }
+    }
+    
+    /**
+     * Runs the bees of one food source, using only its own random stream.
+     */
+    private void visitFoodSource(int phase, int i, int[][] neighborBeeIndices) {
+        FoodSource currentBee = foodSources.get(i);
+        if (phase == BeesTask.INITIALIZE) {
+            initializer.initialize(currentBee, i, streams[i]);
+        } else if (phase == BeesTask.WORK) {
+            for (int neighborBeeIndex : neighborBeeIndices[i]) {
+                sendToWork(currentBee, foodSources.get(neighborBeeIndex), streams[i], moveStats[i]);
+            }
+        /* If food source remained unchanged over the limit but it's not the global best*/
+        } else if(currentBee.getTrials() >= limit && currentBee.getObjectiveFunction() != gBestValue) {
+            // create a new solution and compute its objective function value
+            initializer.scout(currentBee, streams[i]);
+            // set the new solution's trials back to 0
+            currentBee.setTrials(0);
+            moveStats[i][SCOUTED]++;
+        }
+    }
+    
+    /**
+     * Runs the bees of a range of food sources in parallel, splitting it down to single food sources.
+     */
+    private class BeesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        static final int INITIALIZE = 0;
+        static final int WORK = 1;
+        static final int SCOUT = 2;
+        
+        private final int phase;
+        private final int[][] neighborBeeIndices;
+        private final int from;
+        private final int to;
+        
+        BeesTask(int phase, int[][] neighborBeeIndices, int from, int to) {
+            this.phase = phase;
+            this.neighborBeeIndices = neighborBeeIndices;
+            this.from = from;
+            this.to = to;
+        }
+        
+        protected void compute() {
+            if (to - from == 1) {
+                visitFoodSource(phase, from, neighborBeeIndices);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BeesTask(phase, neighborBeeIndices, from, middle),
+                    new BeesTask(phase, neighborBeeIndices, middle, to));
+        }
+    }
+    
+    /** Gets a random number with the exception of the parameter
+	 *
+	 * @param: the maximum random number
+	 * @param: number to to be chosen
+	 * @return: random number
+	 */ 
+  public int getExclusiveRandomNumber(int high, int except) {
+      boolean done = false;
+      int getRand = 0;
+
+      while(!done) {
+          getRand = rand.nextInt(high);
+          if(getRand != except){
+              done = true;
+          }
+      }
+      return getRand;     
+  }
+  
+  /** The optimization part of the algorithm. improves the currentbee by choosing a random neighbor bee. the changes is a randomly generated number of times to try and improve the current solution.
+	 * The new aircraft of the flight is a candidate of the flight, picked by rank (cost), between the
+	 * ranks of the aircrafts of the flight in the two bees.
+	 *
+	 * @param: the currently selected bee
+	 * @param: a randomly selected neighbor bee
+	 * @param: the random stream of the currently selected bee
+	 * @param: move statistics of the currently selected bee, by MOVES, ACCEPTED and RETRIES
+	 */
+	void sendToWork(FoodSource currentBee, FoodSource neighborBee, Random random, int[] stats) {
+		int currObjectiveFunction = 0;
+		int newObjectiveFunction = 0;
+		int paramToChange;
+		int currAircraftIndex;
+		int currRank;
+		int neighRank;
+		int newRank;
+		int newValue;
+		int tries;
+		double q;
+		
+		// save current value of objective function
+		currObjectiveFunction = currentBee.getObjectiveFunction();
+		// pick a parameter to change -> index of flight that will change its operating aircraft
+		paramToChange = random.nextInt(FLIGHTS_COUNT);	
+		
+		// calculate new value -> new aircraft index for flight on index paramToChange
+		currAircraftIndex = currentBee.getAircraftIndex(paramToChange);
+		int candidatesCount = candidates.size(paramToChange);
+		currRank = candidates.getRank(paramToChange, currAircraftIndex);
+		neighRank = candidates.getRank(paramToChange, neighborBee.getAircraftIndex(paramToChange));
+		// aircrafts that are not candidates (e.g. from a warm start) are replaced by a random candidate
+		if (currRank < 0)
+			currRank = random.nextInt(candidatesCount);
+		if (neighRank < 0)
+			neighRank = random.nextInt(candidatesCount);
+		
+		//remove old aircraft data from solution
+		Occupancy occupancy = currentBee.getOccupancy();
+		/* Removing the flight would break the rotation of its aircraft, the flight keeps it */
+		if (!isReleasable(occupancy, currAircraftIndex, paramToChange)) {
+			stats[MOVES]++;
+			currentBee.setTrials(currentBee.getTrials() + 1);
+			return;
+		}
+		occupancy.release(currAircraftIndex, paramToChange);
+		
+		/* New solution update */
+		tries = 0;
+		do {
+			// v_mi = x_mi + q_mi*(x_mi - x_ki), on the ranks of the candidates
+			q = (random.nextDouble()-0.5)*2*stepScale; // [-stepScale,stepScale)
+			newRank = (int) (currRank + q * (neighRank - currRank));
+			
+			// Keeping value in limits
+			if (newRank < 0)
+				newRank = -newRank;
+			while (newRank > candidatesCount - 1)
+				newRank -= candidatesCount;
+			// same aircraft in both bees -> random candidate
+			if (newRank == currRank)
+				newRank = random.nextInt(candidatesCount);
+			newValue = candidates.getCandidate(paramToChange, newRank);
+			tries++;
+		} while (!isFeasible(occupancy, newValue, paramToChange) && tries < MAX_NEIGHBOR_TRIES);
+		boolean feasible = isFeasible(occupancy, newValue, paramToChange);
+		stats[MOVES]++;
+		stats[RETRIES] += feasible ? tries - 1 : tries;
+		
+		/* No feasible neighbor found, the flight keeps its aircraft */
+		if (!feasible) {
+			occupancy.occupy(currAircraftIndex, paramToChange);
+			currentBee.setTrials(currentBee.getTrials() + 1);
+			return;
+		}
+		occupancy.occupy(newValue, paramToChange);
+		/* Apply the move, updating the objective function by the cost difference only */
+		currentBee.applyMove(paramToChange, newValue);
+		newObjectiveFunction = currentBee.getObjectiveFunction();
+		
+		/* Greedy for picking a better solution */
+		/* No improvement */
+        if(currObjectiveFunction < newObjectiveFunction) {
+            occupancy.release(newValue, paramToChange);
+            currentBee.revertMove();
+            occupancy.occupy(currAircraftIndex, paramToChange);
+            currentBee.setTrials(currentBee.getTrials() + 1);
+        /* Improved solution */
+        } else {				
+            currentBee.setTrials(0);
+            stats[ACCEPTED]++;
+        }  
+	}
+
+
+	public synchronized String getNumberOfFlights() {
+		return Integer.toString(FLIGHTS_COUNT);
+	}
+
+	public synchronized String getRuntime() {
+		return Long.toString(runtime);
+	}
+
+	public synchronized String getFirstBest() {
+		return Integer.toString(firstBest);
+	}
+
+	public synchronized String getLastBest() {
+		return Integer.toString(gBestValue);
+	}
+	
+	/**
+	 * @return best objective function at the end of each cycle kept by the telemetry, one per line
+	 */
+	public synchronized String getIteartionsData() {
+		StringBuilder data = new StringBuilder();
+		for (int s = 0; s < telemetry.size(); s++) {
+			data.append(telemetry.get(s, Telemetry.BEST)).append('\n');
+		}
+		return data.toString();
+	}
+
+	/**
+	 * @return statistics of the cycles of the solver. Listeners can be added before executing
+	 * it; they are kept between executions.
+	 */
+	public Telemetry getTelemetry() {
+		return telemetry;
+	}
+
+	public synchronized String getImprovementRate() {
+		double percentage = (firstBest - gBestValue);
+		percentage /= firstBest;
+		percentage *= 100;
+		long factor = (long) Math.pow(10, 2);
+		percentage *= factor;
+		long tmp = Math.round(percentage);
+		percentage = (double) tmp / factor;
+		return Double.toString(percentage);
+	}
+
+	public synchronized String getIterationGBest() {
+		return Integer.toString(iteration);
+	}
+	
+	public synchronized FoodSource getBestSolution() {
+		return gBest;
+	}
+
+	/**
+	 * Does not wait for the solver, so it can be called while it runs.
+	 * @return on position i the aircraft index of flight i in the best solution found so
+	 * far, null before the food sources are initialized
+	 */
+	public int[] getBestSchedule() {
+		int[] schedule = bestSchedule;
+		return schedule == null ? null : schedule.clone();
+	}
+
+	/**
+	 * @return why the last run stopped
+	 */
+	public synchronized String getStopReason() {
+		return stopReason;
+	}
+
+	/**
+	 * @return one line per change of the limit, number of food sources or step made by the
+	 * adaptive control in the last run, with the improvement and diversity that caused it
+	 */
+	public synchronized List<String> getAdaptations() {
+		return new ArrayList<String>(adaptations);
+	}
+
+	public synchronized String getCyclesRun() {
+		return Integer.toString(cycles);
+	}
+
+	/**
+	 * @return the food sources of the colony, after the solver has been initialized
+	 */
+	synchronized List<FoodSource> getFoodSources() {
+		return foodSources;
+	}
+
+	public synchronized String getNumberOfAircrafts() {
+		return Integer.toString(AIRCRAFTS_COUNT);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package ABC;
+
+import info.Aircraft;
+import info.DATA;
+import info.Date;
+import info.Flight;
+import info.Problem;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import utils.Snapshot;
+import utils.reader;
+
+/**
+ * Benchmarks of the hot paths of the solver and of the data loaders, on the bundled data
+ * and on synthetic plans made of several copies of it, one after the other in time.
+ * Every benchmark is warmed up and then run for a fixed time; it reports operations per
+ * second, bytes allocated per operation and the collections run while measuring.
+ * Results are printed and appended to a CSV file with a label, e.g. the commit id, so
+ * they can be compared between commits.
+ * Usage: java ABC.Benchmark [label [csv file [scale...]]], from the directory of the data files.
+ */
+public class Benchmark {
+	private static final long WARMUP_MILLIS = 2000;
+	private static final long MEASURE_MILLIS = 5000;
+	private static final String HEADER = "label,benchmark,dataset,ops_per_sec,us_per_op,bytes_per_op,gc_count,gc_ms";
+
+	/* Results are written here so the JIT can not remove the benchmarked code */
+	static volatile long sink;
+
+	private final String label;
+	private final PrintWriter csv;
+
+	/**
+	 * One benchmarked operation.
+	 */
+	private static abstract class Operation {
+		abstract void run() throws Exception;
+	}
+
+	public Benchmark(String label, PrintWriter csv) {
+		this.label = label;
+		this.csv = csv;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String label = args.length > 0 ? args[0] : "local";
+		String file = args.length > 1 ? args[1] : "benchmarks.csv";
+		ArrayList<Integer> scales = new ArrayList<Integer>();
+		for (int i = 2; i < args.length; i++) {
+			scales.add(Integer.parseInt(args[i]));
+		}
+		if (scales.isEmpty()) {
+			scales.add(1);
+			scales.add(4);
+		}
+
+		boolean header = !new File(file).exists();
+		PrintWriter csv = new PrintWriter(new FileWriter(file, true));
+		try {
+			if (header)
+				csv.println(HEADER);
+			Benchmark benchmark = new Benchmark(label, csv);
+			benchmark.loaders();
+			reader.readAll();
+			Problem bundled = Problem.fromDATA(true);
+			for (int scale : scales) {
+				Problem problem = scale == 1 ? bundled : synthetic(bundled, scale);
+				benchmark.solver(problem, scale == 1 ? "bundled" : "synthetic-x" + scale);
+			}
+		} finally {
+			csv.close();
+		}
+	}
+
+	/**
+	 * @return the plan of the problem repeated scale times, each copy starting the day after
+	 * the previous one ends, with the same aircrafts
+	 */
+	static Problem synthetic(Problem problem, int scale) {
+		List<Flight> flights = problem.getFlights();
+		int firstDay = Integer.MAX_VALUE;
+		int lastDay = Integer.MIN_VALUE;
+		for (Flight f : flights) {
+			firstDay = Math.min(firstDay, f.getFlight_date().toEpochDay());
+			lastDay = Math.max(lastDay, f.getFlight_date().toEpochDay());
+		}
+		long span = (lastDay - firstDay + 1) * 24L * 60;
+		ArrayList<Flight> scaled = new ArrayList<Flight>();
+		for (int k = 0; k < scale; k++) {
+			for (Flight f : flights) {
+				scaled.add(k == 0 ? f : shifted(f, k * span));
+			}
+		}
+		ArrayList<Aircraft> aircrafts = new ArrayList<Aircraft>();
+		for (Aircraft a : problem.getAircrafts()) {
+			if (!a.isFake())
+				aircrafts.add(a);
+		}
+		return new Problem(scaled, aircrafts, problem.getAircraft_models(), problem.getCity_pairs(),
+				problem.getAirport_charges(), problem.getEvents(), problem.isAllowed_to_cancel());
+	}
+
+	private static Flight shifted(Flight f, long minutes) {
+		return new Flight(shifted(f.getFlight_date(), minutes), f.getFlight_number(), f.getOrigin(), f.getDestination(),
+				f.getFlight_carrier(), shifted(f.getSchedule_time_of_departure(), minutes),
+				shifted(f.getSchedule_time_of_arrival(), minutes), f.getBus_seats(), f.getEcon_seats(),
+				f.getTotal_seats(), f.getTail_number(), f.getBus_seats_sold(), f.getEcon_seats_sold(),
+				f.getTotal_seats_sold());
+	}
+
+	private static Date shifted(Date d, long minutes) {
+		return Date.ofEpochMinute(d.toEpochMinute() + minutes);
+	}
+
+	/**
+	 * Benchmarks each loader of utils.reader, and the snapshot, on the bundled data files.
+	 */
+	void loaders() throws Exception {
+		measure("readAM", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readAM(); }
+		});
+		measure("readA", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readA(); }
+		});
+		measure("readAC", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readAC(); }
+		});
+		measure("readCP", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readCP(); }
+		});
+		measure("readE", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readE(); }
+		});
+		measure("readF", "bundled", new Operation() {
+			void run() throws Exception { DATA.clear(); reader.readF(); }
+		});
+		measure("readAll", "bundled", new Operation() {
+			void run() throws Exception { reader.readAll(); }
+		});
+		final String snapshot = File.createTempFile("benchmark", ".snapshot").getPath();
+		reader.readAll();
+		Snapshot.write(snapshot);
+		measure("readSnapshot", "bundled", new Operation() {
+			void run() throws Exception { Snapshot.read(snapshot); }
+		});
+		new File(snapshot).delete();
+	}
+
+	/**
+	 * Benchmarks the phases of the solver on the problem.
+	 */
+	void solver(final Problem problem, String dataset) throws Exception {
+		Parameters parameters = new Parameters(100, 20, 2);
+		parameters.setSeed(1L);
+		final ABC abc = new ABC(problem, parameters);
+		abc.initialize();
+		abc.initializeFoodSources();
+		final List<FoodSource> foodSources = abc.getFoodSources();
+		final Random random = new Random(1L);
+		final int flightsCount = problem.getFlights().size();
+		final int aircraftsCount = problem.getAircrafts().size();
+		final int[] stats = new int[ABC.SCOUTED + 1];
+
+		measure("computeObjectiveFunction", dataset, new Operation() {
+			void run() {
+				FoodSource foodSource = foodSources.get(0);
+				foodSource.computeObjectiveFunction();
+				sink += foodSource.getObjectiveFunction();
+			}
+		});
+		measure("sendToWork", dataset, new Operation() {
+			void run() {
+				int i = random.nextInt(foodSources.size());
+				int k = (i + 1 + random.nextInt(foodSources.size() - 1)) % foodSources.size();
+				abc.sendToWork(foodSources.get(i), foodSources.get(k), random, stats);
+				sink += foodSources.get(i).getObjectiveFunction();
+			}
+		});
+		measure("isFeasible", dataset, new Operation() {
+			void run() {
+				Occupancy occupancy = foodSources.get(0).getOccupancy();
+				if (abc.isFeasible(occupancy, random.nextInt(aircraftsCount), random.nextInt(flightsCount)))
+					sink++;
+			}
+		});
+		measure("initializeFoodSources", dataset, new Operation() {
+			void run() {
+				abc.initialize();
+				abc.initializeFoodSources();
+				sink += abc.getFoodSources().get(0).getObjectiveFunction();
+			}
+		});
+		measure("scoutBeesPhase", dataset, new Operation() {
+			void run() {
+				/* the solver has no best yet, so every food source is abandoned */
+				for (FoodSource foodSource : abc.getFoodSources()) {
+					foodSource.setTrials(Integer.MAX_VALUE);
+				}
+				abc.scoutBeesPhase();
+				sink += abc.getFoodSources().get(0).getObjectiveFunction();
+			}
+		});
+	}
+
+	/**
+	 * Warms the operation up, runs it for the measuring time and reports the results.
+	 */
+	private void measure(String name, String dataset, Operation operation) throws Exception {
+		long end = System.nanoTime() + WARMUP_MILLIS * 1000000;
+		while (System.nanoTime() < end) {
+			operation.run();
+		}
+
+		long gcCount = 0;
+		long gcMillis = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount -= gc.getCollectionCount();
+			gcMillis -= gc.getCollectionTime();
+		}
+		long allocatedBefore = allocatedBytes();
+		long ops = 0;
+		long start = System.nanoTime();
+		end = start + MEASURE_MILLIS * 1000000;
+		long now;
+		do {
+			operation.run();
+			ops++;
+			now = System.nanoTime();
+		} while (now < end);
+		long elapsed = now - start;
+		long allocatedAfter = allocatedBytes();
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount += gc.getCollectionCount();
+			gcMillis += gc.getCollectionTime();
+		}
+
+		double opsPerSecond = ops * 1e9 / elapsed;
+		double microsPerOp = elapsed / 1e3 / ops;
+		long bytesPerOp = allocatedBefore < 0 ? -1 : (allocatedAfter - allocatedBefore) / ops;
+		System.out.println(String.format("%-26s %-14s %14.1f ops/s %12.2f us/op %12d B/op %5d gc %6d gc ms",
+				name, dataset, opsPerSecond, microsPerOp, bytesPerOp, gcCount, gcMillis));
+		csv.println(label + "," + name + "," + dataset + "," + String.format("%.1f", opsPerSecond) + ","
+				+ String.format("%.2f", microsPerOp) + "," + bytesPerOp + "," + gcCount + "," + gcMillis);
+		csv.flush();
+	}
+
+	/**
+	 * @return bytes allocated by the current thread, -1 if the JVM does not measure them
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+			if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled())
+				return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
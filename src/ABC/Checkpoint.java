@@ -0,0 +1,153 @@
+package ABC;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * State of a colony between two cycles: the aircrafts and trials of every food source,
+ * the state of the random generators and the progress of the run. Objective functions,
+ * occupancies and the best food source are computed again from it on resume.
+ *
+ * Format (big endian): magic, version, number of flights, aircrafts, generators of food
+ * sources and food sources, next cycle to run, first best, cycle of the best, cycle and
+ * milliseconds before the checkpoint of the last improvement of the best, state of
+ * the adaptive control (limit, step scale, best at the start of the interval), state of
+ * the generator of the colony, the state of every generator of food sources, then for
+ * every food source its trials and the aircraft of each flight.
+ * An adaptive colony has more generators than food sources, so it can grow.
+ */
+class Checkpoint {
+	private static final int MAGIC = 0x4142434B; // "ABCK"
+	private static final int VERSION = 3;
+
+	final int flightsCount;
+	final int aircraftsCount;
+	final int streamsCount;
+	int foodNumber; // food sources in the colony, at most streamsCount
+	int round; // next cycle to run
+	int firstBest;
+	int iteration;
+	int lastImprovementRound;
+	long sinceImprovement; // milliseconds from the last improvement of the best to the checkpoint
+	int limit;
+	double stepScale;
+	int intervalStartBest;
+	long randState;
+	final long[] streamStates;
+	final int[] trials;
+	final int[][] nectars;
+
+	Checkpoint(int flightsCount, int aircraftsCount, int streamsCount) {
+		this.flightsCount = flightsCount;
+		this.aircraftsCount = aircraftsCount;
+		this.streamsCount = streamsCount;
+		this.streamStates = new long[streamsCount];
+		this.trials = new int[streamsCount];
+		this.nectars = new int[streamsCount][flightsCount];
+	}
+
+	/**
+	 * Writes the checkpoint to a temporary file which then replaces the file, so the file
+	 * always holds a complete checkpoint.
+	 */
+	void write(String fileName) throws IOException {
+		File file = new File(fileName);
+		File tmp = new File(fileName + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(flightsCount);
+			out.writeInt(aircraftsCount);
+			out.writeInt(streamsCount);
+			out.writeInt(foodNumber);
+			out.writeInt(round);
+			out.writeInt(firstBest);
+			out.writeInt(iteration);
+			out.writeInt(lastImprovementRound);
+			out.writeLong(sinceImprovement);
+			out.writeInt(limit);
+			out.writeDouble(stepScale);
+			out.writeInt(intervalStartBest);
+			out.writeLong(randState);
+			for (int i = 0; i < streamsCount; i++) {
+				out.writeLong(streamStates[i]);
+			}
+			for (int i = 0; i < foodNumber; i++) {
+				out.writeInt(trials[i]);
+				/* aircraft indices of the bundled data fit in a short */
+				if (aircraftsCount <= Short.MAX_VALUE) {
+					for (int a : nectars[i]) {
+						out.writeShort(a);
+					}
+				} else {
+					for (int a : nectars[i]) {
+						out.writeInt(a);
+					}
+				}
+			}
+		} finally {
+			out.close();
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a checkpoint of a colony with the given sizes.
+	 * @throws IOException if the file can not be read, was written by another version, is
+	 * truncated or is the checkpoint of a colony of another size
+	 */
+	static Checkpoint read(String fileName, int flightsCount, int aircraftsCount, int streamsCount) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), 1 << 16));
+		try {
+			if (in.readInt() != MAGIC)
+				throw new IOException(fileName + " is not a checkpoint");
+			int version = in.readInt();
+			if (version != VERSION)
+				throw new IOException(fileName + " has version " + version + ", expected " + VERSION);
+			int flights = in.readInt();
+			int aircrafts = in.readInt();
+			int streams = in.readInt();
+			if (flights != flightsCount || aircrafts != aircraftsCount || streams != streamsCount)
+				throw new IOException(fileName + " has " + flights + " flights, " + aircrafts + " aircrafts and "
+						+ streams + " food source generators, expected " + flightsCount + ", " + aircraftsCount + " and " + streamsCount);
+			Checkpoint checkpoint = new Checkpoint(flights, aircrafts, streams);
+			checkpoint.foodNumber = in.readInt();
+			if (checkpoint.foodNumber < 1 || checkpoint.foodNumber > streams)
+				throw new IOException(fileName + " is corrupted: " + checkpoint.foodNumber + " food sources");
+			checkpoint.round = in.readInt();
+			checkpoint.firstBest = in.readInt();
+			checkpoint.iteration = in.readInt();
+			checkpoint.lastImprovementRound = in.readInt();
+			checkpoint.sinceImprovement = in.readLong();
+			checkpoint.limit = in.readInt();
+			checkpoint.stepScale = in.readDouble();
+			checkpoint.intervalStartBest = in.readInt();
+			checkpoint.randState = in.readLong();
+			for (int i = 0; i < streams; i++) {
+				checkpoint.streamStates[i] = in.readLong();
+			}
+			for (int i = 0; i < checkpoint.foodNumber; i++) {
+				checkpoint.trials[i] = in.readInt();
+				int[] nectar = checkpoint.nectars[i];
+				for (int j = 0; j < nectar.length; j++) {
+					nectar[j] = checkpoint.aircraftsCount <= Short.MAX_VALUE ? in.readShort() : in.readInt();
+				}
+			}
+			return checkpoint;
+		} catch (EOFException e) {
+			throw new IOException(fileName + " is truncated", e);
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package ABC;
+
+import info.FlightTimes;
+
+import java.util.Arrays;
+
+/**
+ * Days on which each aircraft already operates a flight in one solution.
+ * Kept as one bitset per aircraft, indexed by the day of the flight, so
+ * testing, setting and clearing a day are constant time operations.
+ * A blocked period blocks every day it overlaps.
+ */
+public class DayOccupancy implements Occupancy {
+	private FlightTimes times;
+	private int words;
+	private long[] bits;
+	private long[] blocked; // days on which each aircraft is blocked
+
+	/**
+	 * @param times days of the flights
+	 * @param aircraftsCount number of aircrafts
+	 */
+	public DayOccupancy(FlightTimes times, int aircraftsCount) {
+		this.times = times;
+		this.words = (times.getDaysCount() + 63) >>> 6;
+		this.bits = new long[aircraftsCount * words];
+		this.blocked = new long[aircraftsCount * words];
+	}
+
+	/**
+	 * @return true if aircraft does not operate any flight on the day of flight
+	 */
+	public boolean isFree(int aircraft, int flight) {
+		int day = times.getDay(flight);
+		int w = aircraft * words + (day >>> 6);
+		return ((bits[w] | blocked[w]) & (1L << day)) == 0;
+	}
+
+	public void occupy(int aircraft, int flight) {
+		int day = times.getDay(flight);
+		bits[aircraft * words + (day >>> 6)] |= 1L << day;
+	}
+
+	public boolean isReleasable(int aircraft, int flight) {
+		return true;
+	}
+
+	public void release(int aircraft, int flight) {
+		int day = times.getDay(flight);
+		bits[aircraft * words + (day >>> 6)] &= ~(1L << day);
+	}
+
+	public void block(int aircraft, long start, long end) {
+		if (end <= start)
+			return;
+		long first = Math.max(0, Math.floorDiv(start, 1440L) - times.getFirstDay());
+		long last = Math.min(times.getDaysCount() - 1, Math.floorDiv(end - 1, 1440L) - times.getFirstDay());
+		for (long day = first; day <= last; day++) {
+			blocked[aircraft * words + (int) (day >>> 6)] |= 1L << day;
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(bits, 0L);
+	}
+}
@@ -0,0 +1,87 @@
+package ABC;
+
+import info.CostTable;
+import info.FlightTimeline;
+import info.Problem;
+
+import java.util.Random;
+
+/**
+ * Builds solutions flight by flight, in departure order, from the candidate aircrafts
+ * of each flight, which are sorted by cost.
+ * The greedy construction gives each flight its cheapest free aircraft. The randomized
+ * construction (GRASP) gives each flight a random aircraft of its restricted candidate
+ * list: the free aircrafts whose cost is within alpha of the range between the cheapest
+ * and the most expensive free aircraft.
+ */
+public class GreedyInitializer extends Initializer {
+	private final CostTable costs;
+	private final FlightTimeline timeline;
+	private final double alpha;
+	private final boolean greedyFirst;
+
+	/**
+	 * @param alpha size of the restricted candidate lists, from 0 (only the cheapest aircraft)
+	 * to 1 (any free aircraft)
+	 * @param greedyFirst the first food source is built greedily and the others with GRASP;
+	 * if false every food source is built with GRASP
+	 */
+	public GreedyInitializer(Problem problem, double alpha, boolean greedyFirst) {
+		super(problem);
+		if (alpha < 0 || alpha > 1)
+			throw new IllegalArgumentException("GRASP alpha must be in [0, 1]: " + alpha);
+		this.costs = problem.getCosts();
+		this.timeline = problem.getTimeline();
+		this.alpha = alpha;
+		this.greedyFirst = greedyFirst;
+	}
+
+	protected int[] schedule(Occupancy occupancy, int index, Random random) {
+		boolean greedy = greedyFirst && index == 0;
+		int[] aircraftIndices = new int[FLIGHTS_COUNT];
+		int[] free = new int[AIRCRAFTS_COUNT];
+		for (int k = 0; k < timeline.size(); k++) {
+			int j = timeline.getFlight(k);
+			int aircraftIndex = greedy ? cheapest(occupancy, j) : randomCandidate(occupancy, j, free, random);
+			aircraftIndices[j] = aircraftIndex;
+			occupancy.occupy(aircraftIndex, j);
+		}
+		return aircraftIndices;
+	}
+
+	/**
+	 * @return the cheapest free aircraft for the flight
+	 */
+	private int cheapest(Occupancy occupancy, int flight) {
+		for (int rank = 0; rank < candidates.size(flight); rank++) {
+			int aircraftIndex = candidates.getCandidate(flight, rank);
+			if (isFeasible(occupancy, aircraftIndex, flight))
+				return aircraftIndex;
+		}
+		throw new IllegalStateException("No aircraft available for flight " + flights.get(flight)
+				+ " and cancelling is not allowed");
+	}
+
+	/**
+	 * @return a random aircraft of the restricted candidate list of the flight
+	 */
+	private int randomCandidate(Occupancy occupancy, int flight, int[] free, Random random) {
+		int count = 0;
+		for (int rank = 0; rank < candidates.size(flight); rank++) {
+			int aircraftIndex = candidates.getCandidate(flight, rank);
+			if (isFeasible(occupancy, aircraftIndex, flight))
+				free[count++] = aircraftIndex;
+		}
+		if (count == 0)
+			throw new IllegalStateException("No aircraft available for flight " + flights.get(flight)
+					+ " and cancelling is not allowed");
+		/* free aircrafts are sorted by cost, so the list is a prefix of them */
+		double threshold = costs.getCost(flight, free[0])
+				+ alpha * (costs.getCost(flight, free[count - 1]) - costs.getCost(flight, free[0]));
+		int size = 1;
+		while (size < count && costs.getCost(flight, free[size]) <= threshold) {
+			size++;
+		}
+		return free[random.nextInt(size)];
+	}
+}
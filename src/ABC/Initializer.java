@@ -0,0 +1,138 @@
+package ABC;
+
+import info.Aircraft;
+import info.CandidateLists;
+import info.Flight;
+import info.Problem;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Strategy creating the solutions of the food sources: the initial ones and the ones
+ * replacing abandoned food sources in the scout bees phase.
+ * Solutions are built flight by flight on the occupancy of the food source from the
+ * candidate aircrafts of each flight, so every solution created is feasible.
+ */
+public abstract class Initializer {
+	/* Strategies */
+	public static final int RANDOM = 0; // random feasible aircraft for each flight
+	public static final int GREEDY = 1; // cheapest feasible aircraft for the first food source, GRASP for the others
+	public static final int GRASP = 2; // random aircraft among the cheapest feasible ones for every food source
+
+	protected final List<Flight> flights;
+	protected final List<Aircraft> aircrafts;
+	protected final CandidateLists candidates;
+	protected final int FLIGHTS_COUNT;
+	protected final int AIRCRAFTS_COUNT;
+
+	protected Initializer(Problem problem) {
+		this.flights = problem.getFlights();
+		this.aircrafts = problem.getAircrafts();
+		this.candidates = problem.getCandidates();
+		this.FLIGHTS_COUNT = flights.size();
+		this.AIRCRAFTS_COUNT = aircrafts.size();
+	}
+
+	/**
+	 * @return the initializer of the strategy of the parameters, or a warm start initializer
+	 * when the parameters have a warm start schedule
+	 */
+	static Initializer create(Problem problem, Parameters parameters) {
+		if (parameters.getWarm_start() != null)
+			return new WarmStartInitializer(problem, parameters.getWarm_start(), parameters.getPerturbation());
+		switch (parameters.getInitialization()) {
+		case RANDOM:
+			return new RandomInitializer(problem);
+		case GREEDY:
+			return new GreedyInitializer(problem, parameters.getGrasp_alpha(), true);
+		case GRASP:
+			return new GreedyInitializer(problem, parameters.getGrasp_alpha(), false);
+		default:
+			throw new IllegalArgumentException("Unknown initialization strategy " + parameters.getInitialization());
+		}
+	}
+
+	/**
+	 * Replaces the nectar of the food source with a new solution and computes its objective function.
+	 * @param index index of the food source in the colony
+	 */
+	public void initialize(FoodSource foodSource, int index, Random random) {
+		Occupancy occupancy = foodSource.getOccupancy();
+		occupancy.clear();
+		setSolution(foodSource, schedule(occupancy, index, random));
+	}
+
+	/**
+	 * Replaces the nectar of an abandoned food source with a new solution and computes its
+	 * objective function.
+	 */
+	public void scout(FoodSource foodSource, Random random) {
+		Occupancy occupancy = foodSource.getOccupancy();
+		occupancy.clear();
+		setSolution(foodSource, schedule(occupancy, -1, random));
+	}
+
+	/**
+	 * Creates a solution, occupying the aircrafts of its flights.
+	 * @param occupancy empty occupancy of the food source
+	 * @param index index of the food source in the colony, -1 for a scout
+	 * @return on position j the aircraft index of flight j
+	 */
+	protected abstract int[] schedule(Occupancy occupancy, int index, Random random);
+
+	private void setSolution(FoodSource foodSource, int[] aircraftIndices) {
+		// set nectar to foodSOurce -> flight j operated by aircraft aircraftIndices[j]
+		if (foodSource.setNectar(aircraftIndices) != FLIGHTS_COUNT)
+			System.out.println("Wrong flight-aircraft pairing! - init phase");
+
+		// computing the value of objective function for the food source
+		foodSource.computeObjectiveFunction();
+	}
+
+	/**
+	 * @return a random feasible arrangement of aircrafts and flights
+	 */
+	protected int[] randomSchedule(Occupancy occupancy, Random random) {
+		int[] aircraftIndices = new int[FLIGHTS_COUNT];
+		for (int j = 0; j < FLIGHTS_COUNT; j++) {
+			int aircraftIndex = findFeasibleAircraft(occupancy, j, random.nextInt(candidates.size(j)));
+			aircraftIndices[j] = aircraftIndex;
+			occupancy.occupy(aircraftIndex, j);
+		}
+		return aircraftIndices;
+	}
+
+	/**
+	 * Finds the first real candidate aircraft, starting from the given rank, that is free to
+	 * operate the flight. The fake aircraft is skipped, so the flight is only cancelled when
+	 * every real candidate is busy and cancelling is allowed.
+	 * @param occupancy flights already operated by the aircrafts
+	 * @param flight index of the flight
+	 * @param start rank of the first candidate to check
+	 * @return index of a feasible aircraft
+	 */
+	protected int findFeasibleAircraft(Occupancy occupancy, int flight, int start) {
+		int size = candidates.size(flight);
+		int fake = -1;
+		for (int k = 0; k < size; k++) {
+			int aircraftIndex = candidates.getCandidate(flight, (start + k) % size);
+			if (aircrafts.get(aircraftIndex).isFake())
+				fake = aircraftIndex;
+			else if (occupancy.isFree(aircraftIndex, flight))
+				return aircraftIndex;
+		}
+		if (fake >= 0)
+			return fake;
+		throw new IllegalStateException("No aircraft available for flight " + flights.get(flight)
+				+ " and cancelling is not allowed");
+	}
+
+	/**
+	 * @return true if aircraft is free for the flight
+	 */
+	protected boolean isFeasible(Occupancy occupancy, int aircraft, int flight) {
+		if (aircrafts.get(aircraft).isFake()) return true;
+		return occupancy.isFree(aircraft, flight);
+	}
+}
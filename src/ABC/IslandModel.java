@@ -0,0 +1,270 @@
+package ABC;
+
+import info.Problem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Island model of the Artificial Bee Colony algorithm.
+ * Several independent colonies (islands), each with its own food sources and scout
+ * limit, run on separate threads. Every migration interval the islands stop and each
+ * one sends its best food source to its neighbors in the topology, where it replaces
+ * the worst food source if it is better.
+ * Each island checks the time budget and cancellation before every cycle; once one of
+ * them stops, the others stop before their next cycle. Stagnation and target value are
+ * checked at every migration against the best solution of all the islands, with the
+ * criteria of the first island's parameters, and stop all the islands there.
+ */
+public class IslandModel {
+	/* Topologies */
+	public static final int RING = 0; // island i sends to island i+1
+	public static final int FULLY_CONNECTED = 1; // every island sends to all the others
+
+	private final ArrayList<ABC> islands;
+	private final int MAX_CYCLE_NUMBER;
+	private final int MIGRATION_INTERVAL;
+	private final int TOPOLOGY;
+	private final int STAGNATION_CYCLES; // cycles without improvement of the best of the islands, 0 for no limit
+	private final long STAGNATION_MILLIS; // milliseconds without improvement of the best of the islands, 0 for no limit
+	private final Integer TARGET_VALUE; // objective function good enough to stop, null for none
+
+	private long runtime;
+	private ABC bestIsland;
+	private int round;
+	private boolean stopped; // the islands stop at the last migration, set while they wait for it
+	private final AtomicReference<String> stopReason = new AtomicReference<String>(); // why the islands stopped before the maximal number of cycles
+	private int bestValue; // best objective function of the islands at the last migration
+	private int lastImprovementRound;
+	private long lastImprovementTime;
+	private volatile int run; // number of the current or last run, counted from 1
+	private volatile int cancelledRun; // number of the last run cancelled, 0 for none
+
+	/**
+	 * @param problem flights and aircrafts to schedule, shared by all the islands
+	 * @param parameters parameters of each island, one per island; all islands run the cycles
+	 * of the first one
+	 * @param migration_interval number of cycles between two migrations
+	 * @param topology RING or FULLY_CONNECTED
+	 */
+	public IslandModel(Problem problem, ArrayList<Parameters> parameters, int migration_interval, int topology) {
+		if (topology != RING && topology != FULLY_CONNECTED)
+			throw new IllegalArgumentException("Unknown topology " + topology);
+		this.islands = new ArrayList<ABC>();
+		for (Parameters p : parameters) {
+			/* stagnation and target value are criteria of the model, not of an island */
+			Parameters island = new Parameters(p);
+			island.setStagnation_cycles(0);
+			island.setStagnation_seconds(0);
+			island.setTarget_value(null);
+			islands.add(new ABC(problem, island));
+		}
+		this.MAX_CYCLE_NUMBER = parameters.get(0).getMax_cycle_number();
+		this.STAGNATION_CYCLES = parameters.get(0).getStagnation_cycles();
+		this.STAGNATION_MILLIS = Math.round(parameters.get(0).getStagnation_seconds() * 1000);
+		this.TARGET_VALUE = parameters.get(0).getTarget_value();
+		this.MIGRATION_INTERVAL = migration_interval;
+		this.TOPOLOGY = topology;
+	}
+
+	/**
+	 * Creates islands with the same parameters; each island gets its own seed.
+	 * @param islands number of islands
+	 */
+	public IslandModel(Problem problem, Parameters parameters, int islands, int migration_interval, int topology) {
+		this(problem, islandParameters(parameters, islands), migration_interval, topology);
+	}
+
+	private static ArrayList<Parameters> islandParameters(Parameters parameters, int islands) {
+		ArrayList<Parameters> list = new ArrayList<Parameters>();
+		for (int i = 0; i < islands; i++) {
+			Parameters p = new Parameters(parameters);
+			if (parameters.getSeed() != null)
+				p.setSeed(parameters.getSeed() + i);
+			list.add(p);
+		}
+		return list;
+	}
+
+	/**
+	 * Runs all the islands, each on its own thread, until the maximal number of cycles or
+	 * until a stopping criterion is met.
+	 */
+	public synchronized void execute() throws InterruptedException {
+		long timeline = System.currentTimeMillis();
+		run++; // a cancel() before this does not stop the new run
+		round = 0;
+		stopReason.set(null);
+		stopped = false;
+		bestValue = Integer.MAX_VALUE;
+		lastImprovementRound = 0;
+		lastImprovementTime = timeline;
+		final CyclicBarrier barrier = new CyclicBarrier(islands.size(), new Runnable() {
+			public void run() {
+				round += MIGRATION_INTERVAL;
+				/* islands stopping set the reason before waiting, so it is set by now */
+				stopReason.compareAndSet(null, stopReason());
+				stopped = stopReason.get() != null;
+				if (!stopped)
+					migrate();
+			}
+		});
+
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		final Throwable[] failure = new Throwable[1];
+		for (final ABC island : islands) {
+			Thread thread = new Thread("ABC-island-" + threads.size()) {
+				public void run() {
+					try {
+						runIsland(island, barrier);
+					} catch (Throwable t) {
+						synchronized (failure) {
+							if (failure[0] == null)
+								failure[0] = t;
+						}
+						barrier.reset();
+					}
+				}
+			};
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure[0] != null)
+			throw new IllegalStateException("Island failed", failure[0]);
+
+		updateBestIsland();
+		stopReason.compareAndSet(null, "maximal number of cycles");
+		runtime = System.currentTimeMillis() - timeline;
+	}
+
+	/**
+	 * Cycles of one island; the island waits for all the others at every migration.
+	 * A cancellation, or an island stopping on its time budget, stops the others before their
+	 * next cycle; all of them then meet at the pending migration, if any, and stop there.
+	 */
+	private void runIsland(ABC island, CyclicBarrier barrier) throws InterruptedException, BrokenBarrierException {
+		island.initialize();
+		island.startColony();
+		for (int r = 0; ; r++) {
+			if (cancelledRun == run)
+				stopReason.compareAndSet(null, "cancelled");
+			String reason = stopReason.get();
+			if (reason != null && r < MAX_CYCLE_NUMBER) {
+				island.stop("island model stopped by " + reason);
+			} else if (island.stopBefore(r)) {
+				/* the first island to stop on its time budget stops the others */
+				if (r < MAX_CYCLE_NUMBER)
+					stopReason.compareAndSet(null, island.getStopReason());
+			} else {
+				island.runCycle(r);
+				if ((r + 1) % MIGRATION_INTERVAL == 0 && r + 1 < MAX_CYCLE_NUMBER) {
+					barrier.await();
+					if (stopped) {
+						island.stop("island model stopped by " + stopReason.get());
+						return;
+					}
+				}
+				continue;
+			}
+			/* the other islands stop before their next cycle and wait for this one at the pending migration */
+			if ((r / MIGRATION_INTERVAL + 1) * MIGRATION_INTERVAL < MAX_CYCLE_NUMBER)
+				barrier.await();
+			return;
+		}
+	}
+
+	/**
+	 * Checks stagnation and target value on the best solution of all the islands. Runs
+	 * while all the islands wait at a migration.
+	 * @return why the islands have to stop, null to continue
+	 */
+	private String stopReason() {
+		int best = Integer.MAX_VALUE;
+		for (ABC island : islands) {
+			best = Math.min(best, island.getBestSolution().getObjectiveFunction());
+		}
+		long now = System.currentTimeMillis();
+		if (best < bestValue) {
+			bestValue = best;
+			lastImprovementRound = round;
+			lastImprovementTime = now;
+		}
+		if (TARGET_VALUE != null && bestValue <= TARGET_VALUE)
+			return "target value reached";
+		if (STAGNATION_CYCLES > 0 && round - lastImprovementRound >= STAGNATION_CYCLES)
+			return "no improvement of the islands in " + STAGNATION_CYCLES + " cycles";
+		if (STAGNATION_MILLIS > 0 && now - lastImprovementTime >= STAGNATION_MILLIS)
+			return "no improvement of the islands in " + STAGNATION_MILLIS + " ms";
+		return null;
+	}
+
+	/**
+	 * Sends the best food source of every island to its neighbors. Runs while all the
+	 * islands wait at the barrier, so no colony is modified concurrently.
+	 */
+	private void migrate() {
+		int n = islands.size();
+		/* copies of the best food sources, so an island receiving a migrant does not change what it sends */
+		ArrayList<FoodSource> migrants = new ArrayList<FoodSource>();
+		for (ABC island : islands) {
+			migrants.add(island.getBestSolution().copy());
+		}
+		for (int i = 0; i < n; i++) {
+			if (TOPOLOGY == RING) {
+				islands.get((i + 1) % n).immigrate(migrants.get(i), round);
+			} else {
+				for (int j = 0; j < n; j++) {
+					if (j != i)
+						islands.get(j).immigrate(migrants.get(i), round);
+				}
+			}
+		}
+	}
+
+	private void updateBestIsland() {
+		ArrayList<FoodSource> bests = new ArrayList<FoodSource>();
+		for (ABC island : islands) {
+			bests.add(island.getBestSolution());
+		}
+		bestIsland = islands.get(bests.indexOf(Collections.min(bests)));
+	}
+
+	public synchronized FoodSource getBestSolution() {
+		return bestIsland.getBestSolution();
+	}
+
+	public synchronized ABC getBestIsland() {
+		return bestIsland;
+	}
+
+	public synchronized ArrayList<ABC> getIslands() {
+		return islands;
+	}
+
+	/**
+	 * Stops all the islands of the run in progress at the end of their current cycle. Can
+	 * be called from any thread. Called while no run is in progress, it does not affect the
+	 * next one.
+	 */
+	public void cancel() {
+		cancelledRun = run;
+	}
+
+	/**
+	 * @return why the last run stopped: cancellation, the time budget of the first island
+	 * that stopped, stagnation or target value of the islands, or the maximal number of cycles
+	 */
+	public String getStopReason() {
+		return stopReason.get();
+	}
+
+	public synchronized String getRuntime() {
+		return Long.toString(runtime);
+	}
+}
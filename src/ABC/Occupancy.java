@@ -0,0 +1,41 @@
+package ABC;
+
+/**
+ * Flights already operated by each aircraft in one solution, used for
+ * checking if an aircraft can operate another flight.
+ */
+public interface Occupancy {
+	/**
+	 * @return true if aircraft can operate flight together with the flights it already operates
+	 */
+	public boolean isFree(int aircraft, int flight);
+
+	/**
+	 * Records that aircraft operates flight.
+	 */
+	public void occupy(int aircraft, int flight);
+
+	/**
+	 * @return true if flight can be removed from the flights operated by aircraft without
+	 * leaving the others infeasible
+	 */
+	public boolean isReleasable(int aircraft, int flight);
+
+	/**
+	 * Removes flight from the flights operated by aircraft.
+	 */
+	public void release(int aircraft, int flight);
+
+	/**
+	 * Makes aircraft unavailable for any flight overlapping the period.
+	 * Periods are not removed by clear().
+	 * @param start start of the period, in minutes since the epoch
+	 * @param end end of the period, exclusive
+	 */
+	public void block(int aircraft, long start, long end);
+
+	/**
+	 * Removes all the flights of all the aircrafts.
+	 */
+	public void clear();
+}
@@ -0,0 +1,237 @@
+package ABC;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parameters of one run of the Artificial Bee Colony algorithm.
+ * The solver copies them when it is created, so changing a Parameters object
+ * afterwards does not affect solvers already created with it.
+ */
+public class Parameters {
+	/* ABC parameters */
+	private int max_cycle_number;
+	private int colony_size;
+	private int limit_divider;
+	private boolean adaptive = false; // Adapt the limit, number of food sources and step of the neighbor values during the run
+
+	/* Feasibility parameters */
+	private boolean rotations = true; // Check departure/arrival times instead of one flight per day
+	private int min_turnaround = 30; // minutes between arrival and next departure of an aircraft
+	private boolean airport_continuity = false; // Next flight of an aircraft departs where the previous landed
+
+	/* Initialization */
+	private int initialization = Initializer.RANDOM; // strategy creating the initial food sources and the scouts
+	private double grasp_alpha = 0.2; // size of the restricted candidate lists of GRASP, from 0 (cheapest) to 1 (any)
+	private int[] warm_start = null; // aircraft index of each flight to start from, null to start from random solutions
+	private double perturbation = 0.05; // probability of a random aircraft for a flight in the variants of the warm start
+
+	/* Stopping criteria, besides the maximal number of cycles */
+	private long time_budget = 0; // milliseconds the run may take, 0 for no limit
+	private int stagnation_cycles = 0; // cycles without improvement after which the run stops, 0 for no limit
+	private double stagnation_seconds = 0; // seconds without improvement after which the run stops, 0 for no limit
+	private Integer target_value = null; // objective function at which the run stops, null for none
+
+	/* Execution */
+	private ForkJoinPool pool = null; // Pool running the bees of the food sources, null to run them on the calling thread
+	private Long seed = null; // Seed of the random generator, null for a random seed
+	private int telemetry_capacity = 10000; // cycles whose statistics are kept, the last ones if there are more
+	private String checkpoint_file = null; // file the colony is checkpointed to, null for no checkpoints
+	private int checkpoint_interval = 10; // cycles between checkpoints
+
+	/**
+	 * @param max_cycle_number
+	 * @param colony_size
+	 * @param limit_divider number to divide the number of cycles to get the limit - ex 3, 5...
+	 */
+	public Parameters(int max_cycle_number, int colony_size, int limit_divider) {
+		this.max_cycle_number = max_cycle_number;
+		this.colony_size = colony_size;
+		this.limit_divider = limit_divider;
+	}
+
+	public Parameters(Parameters that) {
+		this.max_cycle_number = that.max_cycle_number;
+		this.colony_size = that.colony_size;
+		this.limit_divider = that.limit_divider;
+		this.adaptive = that.adaptive;
+		this.rotations = that.rotations;
+		this.min_turnaround = that.min_turnaround;
+		this.airport_continuity = that.airport_continuity;
+		this.initialization = that.initialization;
+		this.grasp_alpha = that.grasp_alpha;
+		this.warm_start = that.warm_start;
+		this.perturbation = that.perturbation;
+		this.time_budget = that.time_budget;
+		this.stagnation_cycles = that.stagnation_cycles;
+		this.stagnation_seconds = that.stagnation_seconds;
+		this.target_value = that.target_value;
+		this.pool = that.pool;
+		this.seed = that.seed;
+		this.telemetry_capacity = that.telemetry_capacity;
+		this.checkpoint_file = that.checkpoint_file;
+		this.checkpoint_interval = that.checkpoint_interval;
+	}
+
+	public int getMax_cycle_number() {
+		return max_cycle_number;
+	}
+	public void setMax_cycle_number(int max_cycle_number) {
+		this.max_cycle_number = max_cycle_number;
+	}
+	public int getColony_size() {
+		return colony_size;
+	}
+	public void setColony_size(int colony_size) {
+		this.colony_size = colony_size;
+	}
+	public int getLimit_divider() {
+		return limit_divider;
+	}
+	public void setLimit_divider(int limit_divider) {
+		this.limit_divider = limit_divider;
+	}
+	public boolean isRotations() {
+		return rotations;
+	}
+	/**
+	 * @param rotations true to check the scheduled times of the flights of each aircraft,
+	 * false to allow only one flight per aircraft per day
+	 */
+	public void setRotations(boolean rotations) {
+		this.rotations = rotations;
+	}
+	public int getMin_turnaround() {
+		return min_turnaround;
+	}
+	public void setMin_turnaround(int min_turnaround) {
+		this.min_turnaround = min_turnaround;
+	}
+	public boolean isAirport_continuity() {
+		return airport_continuity;
+	}
+	public void setAirport_continuity(boolean airport_continuity) {
+		this.airport_continuity = airport_continuity;
+	}
+	public int getInitialization() {
+		return initialization;
+	}
+	/**
+	 * @param initialization Initializer.RANDOM, Initializer.GREEDY or Initializer.GRASP;
+	 * ignored when a warm start is set
+	 */
+	public void setInitialization(int initialization) {
+		this.initialization = initialization;
+	}
+	public double getGrasp_alpha() {
+		return grasp_alpha;
+	}
+	public void setGrasp_alpha(double grasp_alpha) {
+		this.grasp_alpha = grasp_alpha;
+	}
+	public int[] getWarm_start() {
+		return warm_start;
+	}
+	/**
+	 * The first food source starts from the schedule and the others from variants of it in
+	 * which each flight gets a random aircraft with the perturbation probability. Flights
+	 * whose aircraft is not free (or -1) get the first free aircraft from a random one.
+	 * @param warm_start on position i the index of the aircraft of flight i in the problem,
+	 * or -1 for no aircraft; null to start from random solutions
+	 * @see Schedules
+	 */
+	public void setWarm_start(int[] warm_start) {
+		this.warm_start = warm_start;
+	}
+	public double getPerturbation() {
+		return perturbation;
+	}
+	public void setPerturbation(double perturbation) {
+		this.perturbation = perturbation;
+	}
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+	/**
+	 * Every few cycles an adaptive colony compares the improvement of the best and the
+	 * diversity of its food sources: a stagnating search lowers the limit, takes longer
+	 * steps and grows the colony up to twice its size when it has converged; an improving
+	 * one raises the limit, takes shorter steps and drops food sources down to half of it.
+	 * The changes are listed by ABC.getAdaptations.
+	 * @param adaptive false to keep the parameters of the colony
+	 */
+	public void setAdaptive(boolean adaptive) {
+		this.adaptive = adaptive;
+	}
+	public long getTime_budget() {
+		return time_budget;
+	}
+	/**
+	 * The run stops before the first cycle that would end after the budget, estimating its
+	 * duration by the previous cycle, so the best solution is available on time.
+	 * @param time_budget milliseconds from the start of the run, 0 for no limit
+	 */
+	public void setTime_budget(long time_budget) {
+		this.time_budget = time_budget;
+	}
+	public int getStagnation_cycles() {
+		return stagnation_cycles;
+	}
+	public void setStagnation_cycles(int stagnation_cycles) {
+		this.stagnation_cycles = stagnation_cycles;
+	}
+	public double getStagnation_seconds() {
+		return stagnation_seconds;
+	}
+	public void setStagnation_seconds(double stagnation_seconds) {
+		this.stagnation_seconds = stagnation_seconds;
+	}
+	public Integer getTarget_value() {
+		return target_value;
+	}
+	public void setTarget_value(Integer target_value) {
+		this.target_value = target_value;
+	}
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+	/**
+	 * While a food source is improved its neighbor may be improved concurrently; the aircraft
+	 * of a flight read from the neighbor is then either its value before or after the
+	 * concurrent move, both valid aircraft indices, so the neighbor is read without locking.
+	 * @param pool pool to run the employed, onlooker and scout bees on, or null to run
+	 * them on the calling thread
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+	public Long getSeed() {
+		return seed;
+	}
+	public void setSeed(Long seed) {
+		this.seed = seed;
+	}
+	public int getTelemetry_capacity() {
+		return telemetry_capacity;
+	}
+	public void setTelemetry_capacity(int telemetry_capacity) {
+		this.telemetry_capacity = telemetry_capacity;
+	}
+	public String getCheckpoint_file() {
+		return checkpoint_file;
+	}
+	/**
+	 * The colony is written to the file every checkpoint interval cycles, on a background
+	 * thread; a run can then be continued with ABC.resume. Only ABC.execute and ABC.resume
+	 * checkpoint, the islands of an IslandModel do not.
+	 * @param checkpoint_file file to checkpoint to, null for no checkpoints
+	 */
+	public void setCheckpoint_file(String checkpoint_file) {
+		this.checkpoint_file = checkpoint_file;
+	}
+	public int getCheckpoint_interval() {
+		return checkpoint_interval;
+	}
+	public void setCheckpoint_interval(int checkpoint_interval) {
+		this.checkpoint_interval = checkpoint_interval;
+	}
+}
@@ -0,0 +1,19 @@
+package ABC;
+
+import info.Problem;
+
+import java.util.Random;
+
+/**
+ * Gives each flight, in order, the first free candidate aircraft from a random one.
+ */
+public class RandomInitializer extends Initializer {
+
+	public RandomInitializer(Problem problem) {
+		super(problem);
+	}
+
+	protected int[] schedule(Occupancy occupancy, int index, Random random) {
+		return randomSchedule(occupancy, random);
+	}
+}
@@ -0,0 +1,259 @@
+package ABC;
+
+import info.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Disruption recovery: applies events to a schedule and re-optimizes only the
+ * flights affected by them.
+ * An event delays its flight (the leg between the origin and destination of the
+ * event) by its departure delay and makes the aircraft it affects unavailable from
+ * the event time for the estimated time to solve it.
+ * The flights of the touched aircrafts (the affected aircrafts and the aircrafts
+ * of the delayed flights) that overlap the window of a disruption are then
+ * rescheduled by ABC among the touched aircrafts; every other flight keeps its
+ * aircraft. The window of a disruption goes from its start (the event time or the
+ * scheduled departure of the delayed flight) to its end plus the recovery horizon.
+ * The solver of the rescheduled flights is warm started from their current aircrafts,
+ * and does not checkpoint, so the checkpoint file of the parameters is left untouched.
+ * A time budget in the parameters bounds the whole recovery, the solver getting what is
+ * left of it after the disruption has been applied.
+ */
+public class Recovery {
+	private final Problem problem;
+	private final int[] schedule;
+	private final Parameters parameters;
+	private final int HORIZON;
+
+	private long runtime;
+	private Problem disrupted;
+	private Problem subProblem;
+	private int[] windowFlights;
+	private int[] touchedAircrafts;
+	private FoodSource disruptedSolution;
+	private FoodSource bestSolution;
+	private int unmatchedEvents;
+
+	/**
+	 * @param problem problem of the schedule
+	 * @param schedule schedule to recover, usually the best solution of a solver of the problem
+	 * @param parameters parameters of the solver of the affected flights
+	 * @param horizon minutes after the end of the last disruption in which flights can be rescheduled
+	 */
+	public Recovery(Problem problem, FoodSource schedule, Parameters parameters, int horizon) {
+		this.problem = problem;
+		this.schedule = schedule.getNectar().clone();
+		this.parameters = new Parameters(parameters);
+		this.HORIZON = horizon;
+	}
+
+	/**
+	 * Applies the events to the schedule and reschedules the affected flights.
+	 */
+	public synchronized void execute(List<Event> events) {
+		long timeline = System.currentTimeMillis();
+		List<Flight> flights = problem.getFlights();
+		List<Aircraft> aircrafts = problem.getAircrafts();
+		HashMap<String, Integer> tails = new HashMap<String, Integer>();
+		ArrayList<Aircraft> realAircrafts = new ArrayList<Aircraft>();
+		for (int a = 0; a < aircrafts.size(); a++) {
+			if (!aircrafts.get(a).isFake()) {
+				tails.put(aircrafts.get(a).getTail_number(), a);
+				realAircrafts.add(aircrafts.get(a));
+			}
+		}
+
+		/* Delays and unavailabilities */
+		ArrayList<Flight> disruptedFlights = new ArrayList<Flight>(flights);
+		ArrayList<Unavailability> unavailabilities = new ArrayList<Unavailability>();
+		LinkedHashSet<Integer> touched = new LinkedHashSet<Integer>();
+		ArrayList<long[]> windows = new ArrayList<long[]>();
+		unmatchedEvents = 0;
+		for (Event event : events) {
+			boolean matched = false;
+			int f = problem.getFlightIndex(event.getFlight_number(), event.getFlight_date(),
+					event.getOrigin(), event.getDestination());
+			if (f < 0)
+				f = problem.getFlightIndex(event.getFlight_number(), event.getFlight_date());
+			if (f >= 0 && event.getDeparture_delay_in_minutes() > 0) {
+				Flight flight = disruptedFlights.get(f);
+				long start = flight.getSchedule_time_of_departure().toEpochMinute();
+				flight = delayed(flight, event.getDeparture_delay_in_minutes());
+				disruptedFlights.set(f, flight);
+				windows.add(new long[] {start, flight.getSchedule_time_of_arrival().toEpochMinute() + HORIZON});
+				if (!aircrafts.get(schedule[f]).isFake())
+					touched.add(schedule[f]);
+				matched = true;
+			}
+			Integer a = tails.get(event.getResource_affected());
+			if (a != null && event.getEstimated_time_to_solve() > 0) {
+				long start = event.getEvent_time().toEpochMinute();
+				long end = start + event.getEstimated_time_to_solve();
+				unavailabilities.add(new Unavailability(a, start, end));
+				windows.add(new long[] {start, end + HORIZON});
+				touched.add(a);
+				matched = true;
+			}
+			if (!matched)
+				unmatchedEvents++;
+		}
+
+		disrupted = new Problem(disruptedFlights, realAircrafts, problem.getAircraft_models(), problem.getCity_pairs(),
+				problem.getAirport_charges(), problem.getEvents(), problem.isAllowed_to_cancel(), unavailabilities);
+		disruptedSolution = solutionOf(disrupted, schedule);
+
+		/* Flights of the touched aircrafts in the window; the others block their aircraft */
+		touchedAircrafts = new int[touched.size()];
+		int[] subAircraft = new int[aircrafts.size()];
+		ArrayList<Aircraft> subAircrafts = new ArrayList<Aircraft>();
+		int k = 0;
+		for (int a : touched) {
+			touchedAircrafts[k] = a;
+			subAircraft[a] = k++;
+			subAircrafts.add(aircrafts.get(a));
+		}
+		FlightTimes times = disrupted.getFlightTimes();
+		FlightTimeline flightTimeline = disrupted.getTimeline();
+		boolean[] inWindow = new boolean[disruptedFlights.size()];
+		for (long[] w : windows) {
+			for (int i : flightTimeline.overlapping(w[0], w[1])) {
+				inWindow[i] = true;
+			}
+		}
+		int turnaround = parameters.isRotations() ? parameters.getMin_turnaround() : 0;
+		ArrayList<Integer> window = new ArrayList<Integer>();
+		ArrayList<Flight> subFlights = new ArrayList<Flight>();
+		ArrayList<Unavailability> subUnavailabilities = new ArrayList<Unavailability>();
+		for (Unavailability u : unavailabilities) {
+			subUnavailabilities.add(new Unavailability(subAircraft[u.getAircraft()], u.getStart(), u.getEnd()));
+		}
+		for (int i = 0; i < disruptedFlights.size(); i++) {
+			if (!touched.contains(schedule[i]))
+				continue;
+			if (inWindow[i]) {
+				window.add(i);
+				subFlights.add(disruptedFlights.get(i));
+			} else {
+				subUnavailabilities.add(new Unavailability(subAircraft[schedule[i]],
+						times.getDeparture(i) - turnaround, times.getArrival(i) + turnaround));
+			}
+		}
+		windowFlights = new int[window.size()];
+		for (int i = 0; i < windowFlights.length; i++) {
+			windowFlights[i] = window.get(i);
+		}
+
+		/* Rescheduling of the window */
+		int[] recovered = schedule.clone();
+		if (windowFlights.length > 0) {
+			subProblem = new Problem(subFlights, subAircrafts, problem.getAircraft_models(), problem.getCity_pairs(),
+					problem.getAirport_charges(), new ArrayList<Event>(), problem.isAllowed_to_cancel(), subUnavailabilities);
+			int[] warmStart = new int[windowFlights.length];
+			for (int i = 0; i < windowFlights.length; i++) {
+				warmStart[i] = subAircraft[schedule[windowFlights[i]]];
+			}
+			Parameters subParameters = new Parameters(parameters);
+			subParameters.setWarm_start(warmStart);
+			/* a checkpoint of the sub-problem would replace the one of the main run */
+			subParameters.setCheckpoint_file(null);
+			/* the time budget is for the whole recovery */
+			if (parameters.getTime_budget() > 0)
+				subParameters.setTime_budget(Math.max(1, parameters.getTime_budget() - (System.currentTimeMillis() - timeline)));
+			ABC abc = new ABC(subProblem, subParameters);
+			abc.execute();
+			FoodSource best = abc.getBestSolution();
+			int fake = problem.isAllowed_to_cancel() ? aircrafts.size() - 1 : -1;
+			for (int i = 0; i < windowFlights.length; i++) {
+				int a = best.getAircraftIndex(i);
+				recovered[windowFlights[i]] = a < touchedAircrafts.length ? touchedAircrafts[a] : fake;
+			}
+		}
+		bestSolution = solutionOf(disrupted, recovered);
+		runtime = System.currentTimeMillis() - timeline;
+
+		System.out.println("\nRecovery done. "
+				+ "\n\t- Time elapsed: " + runtime + "ms.\n"
+				+ "\t- Events not matching any flight or aircraft: " + unmatchedEvents
+				+ "\n\t- Touched aircrafts: " + touchedAircrafts.length
+				+ "\n\t- Rescheduled flights: " + windowFlights.length
+				+ "\n\t- Disrupted schedule: " + disruptedSolution.getObjectiveFunction()
+				+ "\n\t- Recovered schedule: " + bestSolution.getObjectiveFunction());
+	}
+
+	/**
+	 * @return copy of the flight departing and arriving later by the delay
+	 */
+	private static Flight delayed(Flight f, int delay) {
+		Date departure = Date.ofEpochMinute(f.getSchedule_time_of_departure().toEpochMinute() + delay);
+		Date arrival = Date.ofEpochMinute(f.getSchedule_time_of_arrival().toEpochMinute() + delay);
+		return new Flight(f.getFlight_date(), f.getFlight_number(), f.getOrigin(), f.getDestination(),
+				f.getFlight_carrier(), departure, arrival, f.getBus_seats(), f.getEcon_seats(),
+				f.getTotal_seats(), f.getTail_number(), f.getBus_seats_sold(), f.getEcon_seats_sold(),
+				f.getTotal_seats_sold());
+	}
+
+	private FoodSource solutionOf(Problem p, int[] aircraftIndices) {
+		FoodSource solution = new FoodSource(p, ABC.newOccupancy(p, parameters.isRotations(),
+				parameters.getMin_turnaround(), parameters.isAirport_continuity()));
+		solution.setNectar(aircraftIndices);
+		for (int i = 0; i < aircraftIndices.length; i++) {
+			solution.getOccupancy().occupy(aircraftIndices[i], i);
+		}
+		solution.computeObjectiveFunction();
+		return solution;
+	}
+
+	/**
+	 * @return problem with the delays and unavailabilities of the events applied
+	 */
+	public synchronized Problem getDisrupted() {
+		return disrupted;
+	}
+
+	/**
+	 * @return problem of the rescheduled flights, null if no flight was rescheduled
+	 */
+	public synchronized Problem getSubProblem() {
+		return subProblem;
+	}
+
+	/**
+	 * @return the schedule with the events applied, before rescheduling, on the disrupted problem
+	 */
+	public synchronized FoodSource getDisruptedSolution() {
+		return disruptedSolution;
+	}
+
+	/**
+	 * @return the recovered schedule, on the disrupted problem
+	 */
+	public synchronized FoodSource getBestSolution() {
+		return bestSolution;
+	}
+
+	/**
+	 * @return indices of the rescheduled flights
+	 */
+	public synchronized int[] getWindowFlights() {
+		return windowFlights;
+	}
+
+	/**
+	 * @return indices of the aircrafts whose flights were rescheduled
+	 */
+	public synchronized int[] getTouchedAircrafts() {
+		return touchedAircrafts;
+	}
+
+	public synchronized int getUnmatchedEvents() {
+		return unmatchedEvents;
+	}
+
+	public synchronized String getRuntime() {
+		return Long.toString(runtime);
+	}
+}
@@ -0,0 +1,120 @@
+package ABC;
+
+import info.FlightTimes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rotation of each aircraft in one solution: the flights it operates, sorted by
+ * scheduled departure, so inserting, removing and finding the neighbours of a
+ * flight take O(log n).
+ * An aircraft can operate a flight if it has landed from its previous flight at
+ * least the minimum turnaround before the departure, and if the flight arrives at
+ * least the minimum turnaround before the departure of the next one. When airport
+ * continuity is required, the previous flight must also land at the origin of the
+ * flight and the next flight must depart from its destination.
+ * A flight can then only be removed if its previous flight lands where its next flight
+ * departs, so rotations never break.
+ * Blocked periods of an aircraft are kept merged, so a flight only has to be checked
+ * against the last period starting before it lands.
+ */
+public class RotationOccupancy implements Occupancy {
+	private FlightTimes times;
+	private int minTurnaround;
+	private boolean airportContinuity;
+	private List<TreeMap<Long, Integer>> rotations;
+	private List<TreeMap<Long, Long>> blocks; // start and end of the disjoint blocked periods
+
+	/**
+	 * @param times scheduled times and airports of the flights
+	 * @param aircraftsCount number of aircrafts
+	 * @param minTurnaround minimum time in minutes between the arrival of an aircraft and its next departure
+	 * @param airportContinuity if consecutive flights of an aircraft must connect at the same airport
+	 */
+	public RotationOccupancy(FlightTimes times, int aircraftsCount, int minTurnaround, boolean airportContinuity) {
+		this.times = times;
+		this.minTurnaround = minTurnaround;
+		this.airportContinuity = airportContinuity;
+		this.rotations = new ArrayList<TreeMap<Long, Integer>>(aircraftsCount);
+		this.blocks = new ArrayList<TreeMap<Long, Long>>(aircraftsCount);
+		for (int a = 0; a < aircraftsCount; a++) {
+			rotations.add(new TreeMap<Long, Integer>());
+			blocks.add(new TreeMap<Long, Long>());
+		}
+	}
+
+	public boolean isFree(int aircraft, int flight) {
+		TreeMap<Long, Integer> rotation = rotations.get(aircraft);
+		long departure = times.getDeparture(flight);
+		long arrival = times.getArrival(flight);
+
+		Map.Entry<Long, Long> block = blocks.get(aircraft).lowerEntry(arrival);
+		if (block != null && block.getValue() > departure)
+			return false;
+
+		Map.Entry<Long, Integer> previous = rotation.floorEntry(departure);
+		if (previous != null) {
+			int p = previous.getValue();
+			if (times.getArrival(p) + minTurnaround > departure)
+				return false;
+			if (airportContinuity && times.getDestination(p) != times.getOrigin(flight))
+				return false;
+		}
+		Map.Entry<Long, Integer> next = rotation.higherEntry(departure);
+		if (next != null) {
+			int n = next.getValue();
+			if (arrival + minTurnaround > times.getDeparture(n))
+				return false;
+			if (airportContinuity && times.getDestination(flight) != times.getOrigin(n))
+				return false;
+		}
+		return true;
+	}
+
+	public void occupy(int aircraft, int flight) {
+		rotations.get(aircraft).put(times.getDeparture(flight), flight);
+	}
+
+	public boolean isReleasable(int aircraft, int flight) {
+		if (!airportContinuity)
+			return true;
+		TreeMap<Long, Integer> rotation = rotations.get(aircraft);
+		long departure = times.getDeparture(flight);
+		Map.Entry<Long, Integer> previous = rotation.lowerEntry(departure);
+		Map.Entry<Long, Integer> next = rotation.higherEntry(departure);
+		return previous == null || next == null
+				|| times.getDestination(previous.getValue()) == times.getOrigin(next.getValue());
+	}
+
+	public void release(int aircraft, int flight) {
+		rotations.get(aircraft).remove(times.getDeparture(flight), flight);
+	}
+
+	public void block(int aircraft, long start, long end) {
+		if (end <= start)
+			return;
+		TreeMap<Long, Long> periods = blocks.get(aircraft);
+		/* merge with the periods overlapping or touching [start, end) */
+		Map.Entry<Long, Long> previous = periods.floorEntry(start);
+		if (previous != null && previous.getValue() >= start) {
+			start = previous.getKey();
+			end = Math.max(end, previous.getValue());
+		}
+		Map.Entry<Long, Long> next = periods.ceilingEntry(start);
+		while (next != null && next.getKey() <= end) {
+			end = Math.max(end, next.getValue());
+			periods.remove(next.getKey());
+			next = periods.ceilingEntry(start);
+		}
+		periods.put(start, end);
+	}
+
+	public void clear() {
+		for (TreeMap<Long, Integer> rotation : rotations) {
+			rotation.clear();
+		}
+	}
+}
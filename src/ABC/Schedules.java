@@ -0,0 +1,99 @@
+package ABC;
+
+import info.Aircraft;
+import info.Date;
+import info.Flight;
+import info.Problem;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import utils.Writer;
+
+/**
+ * Schedules to warm start the algorithm from: the operational plan, and solutions
+ * saved to a file. A schedule is an array containing on position i the index of the
+ * aircraft of flight i in the problem, or -1 if the flight has no aircraft.
+ * Saved solutions refer to flights by number and date and to aircrafts by tail number,
+ * so they can be loaded into another problem with the same flights and aircrafts.
+ */
+public class Schedules {
+	private static final String SEPARATOR = ";";
+
+	/**
+	 * @return the schedule of the operational plan: the aircraft with the tail number of
+	 * each flight, -1 for flights whose tail is not one of the aircrafts of the problem
+	 */
+	public static int[] fromPlan(Problem problem) {
+		HashMap<String, Integer> tails = tails(problem);
+		List<Flight> flights = problem.getFlights();
+		int[] schedule = new int[flights.size()];
+		for (int i = 0; i < schedule.length; i++) {
+			Integer aircraft = tails.get(flights.get(i).getTail_number());
+			schedule[i] = aircraft == null ? -1 : aircraft;
+		}
+		return schedule;
+	}
+
+	/**
+	 * Writes the solution to a file, one line per flight: flight number, flight date,
+	 * origin and destination of the leg and tail number, empty for a cancelled flight.
+	 */
+	public static void save(Problem problem, FoodSource solution, String filename) {
+		List<Flight> flights = problem.getFlights();
+		List<Aircraft> aircrafts = problem.getAircrafts();
+		Writer writer = new Writer();
+		for (int i = 0; i < flights.size(); i++) {
+			Flight f = flights.get(i);
+			Date d = f.getFlight_date();
+			Aircraft a = aircrafts.get(solution.getAircraftIndex(i));
+			writer.add(f.getFlight_number() + SEPARATOR
+					+ String.format("%04d-%02d-%02d", d.getAno(), d.getMes(), d.getDia()) + SEPARATOR
+					+ f.getOrigin() + SEPARATOR + f.getDestination() + SEPARATOR
+					+ (a.isFake() ? "" : a.getTail_number()));
+		}
+		writer.writeFile(filename);
+	}
+
+	/**
+	 * Reads a solution written by save().
+	 * @return schedule of the flights of the problem, -1 for the flights that are not in the
+	 * file, that were cancelled or whose tail is not one of the aircrafts of the problem
+	 */
+	public static int[] load(Problem problem, String filename) throws IOException {
+		HashMap<String, Integer> tails = tails(problem);
+		int[] schedule = new int[problem.getFlights().size()];
+		Arrays.fill(schedule, -1);
+		BufferedReader br = new BufferedReader(new FileReader(filename));
+		try {
+			String line = br.readLine();
+			while (line != null) {
+				String[] fields = line.split(SEPARATOR, -1);
+				if (fields.length == 5) {
+					int flight = problem.getFlightIndex(fields[0], new Date(fields[1]), fields[2], fields[3]);
+					Integer aircraft = tails.get(fields[4]);
+					if (flight >= 0 && aircraft != null)
+						schedule[flight] = aircraft;
+				}
+				line = br.readLine();
+			}
+		} finally {
+			br.close();
+		}
+		return schedule;
+	}
+
+	private static HashMap<String, Integer> tails(Problem problem) {
+		HashMap<String, Integer> tails = new HashMap<String, Integer>();
+		List<Aircraft> aircrafts = problem.getAircrafts();
+		for (int a = 0; a < aircrafts.size(); a++) {
+			if (!aircrafts.get(a).isFake())
+				tails.put(aircrafts.get(a).getTail_number(), a);
+		}
+		return tails;
+	}
+}
@@ -0,0 +1,43 @@
+package ABC;
+
+import java.util.Random;
+
+/**
+ * Random generator with the same sequence as java.util.Random for the same seed,
+ * whose state can be read and restored, so a checkpointed run continues with the
+ * numbers it would have drawn.
+ * Like the streams of the food sources, an instance is used by one thread at a time.
+ */
+public class StatefulRandom extends Random {
+	private static final long serialVersionUID = 1L;
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	private long state; // set by Random's constructor through setSeed, so it has no initializer
+
+	public StatefulRandom(long seed) {
+		super(seed);
+	}
+
+	public synchronized void setSeed(long seed) {
+		state = (seed ^ MULTIPLIER) & MASK;
+		super.setSeed(seed);
+	}
+
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/**
+	 * @return the internal state, to be restored with setState
+	 */
+	public long getState() {
+		return state;
+	}
+
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+}
@@ -0,0 +1,183 @@
+package ABC;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Convergence statistics of a solver, one sample per cycle: best and mean objective
+ * function, moves tried and accepted by the employed and onlooker bees, feasibility
+ * retries, scout resets, time spent in each phase, and the abandonment limit and number
+ * of food sources, which change in an adaptive colony.
+ * Samples are kept in preallocated ring buffers, so recording does not allocate and
+ * only the last samples are kept when there are more cycles than the capacity.
+ * Samples are numbered from the oldest one kept.
+ */
+public class Telemetry {
+	/* Columns of the samples */
+	public static final int CYCLE = 0;
+	public static final int BEST = 1;
+	public static final int EMPLOYED_MOVES = 2;
+	public static final int EMPLOYED_ACCEPTED = 3;
+	public static final int ONLOOKER_MOVES = 4;
+	public static final int ONLOOKER_ACCEPTED = 5;
+	public static final int RETRIES = 6; // neighbor values that were not feasible
+	public static final int SCOUTS = 7;
+	public static final int EMPLOYED_NANOS = 8;
+	public static final int ONLOOKER_NANOS = 9;
+	public static final int SCOUT_NANOS = 10;
+	public static final int LIMIT = 11;
+	public static final int FOOD_SOURCES = 12;
+	private static final String[] COLUMNS = {"cycle", "best", "employed_moves", "employed_accepted",
+			"onlooker_moves", "onlooker_accepted", "retries", "scouts", "employed_nanos", "onlooker_nanos",
+			"scout_nanos", "limit", "food_sources"};
+
+	private final int capacity;
+	private final long[][] columns;
+	private final double[] means;
+	private long count; // samples recorded since the last clear
+	private volatile TelemetryListener[] listeners = new TelemetryListener[0]; // replaced on change, so recording does not lock them
+
+	/**
+	 * @param capacity number of samples kept
+	 */
+	public Telemetry(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Telemetry capacity must be positive: " + capacity);
+		this.capacity = capacity;
+		this.columns = new long[COLUMNS.length][capacity];
+		this.means = new double[capacity];
+	}
+
+	public synchronized void addListener(TelemetryListener listener) {
+		TelemetryListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+		added[listeners.length] = listener;
+		listeners = added;
+	}
+
+	public synchronized void removeListener(TelemetryListener listener) {
+		int i = Arrays.asList(listeners).indexOf(listener);
+		if (i < 0)
+			return;
+		TelemetryListener[] removed = new TelemetryListener[listeners.length - 1];
+		System.arraycopy(listeners, 0, removed, 0, i);
+		System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+		listeners = removed;
+	}
+
+	/**
+	 * Removes all the samples, keeping the listeners.
+	 */
+	synchronized void clear() {
+		count = 0;
+	}
+
+	/**
+	 * Records the sample of a cycle and passes it to the listeners.
+	 * @param values value of each column, by column index
+	 */
+	void record(long[] values, double mean) {
+		synchronized (this) {
+			int slot = (int) (count % capacity);
+			for (int c = 0; c < COLUMNS.length; c++) {
+				columns[c][slot] = values[c];
+			}
+			means[slot] = mean;
+			count++;
+		}
+		for (TelemetryListener listener : listeners) {
+			listener.cycleRecorded(this);
+		}
+	}
+
+	/**
+	 * @return number of samples kept
+	 */
+	public synchronized int size() {
+		return (int) Math.min(count, capacity);
+	}
+
+	/**
+	 * @return number of samples recorded, including the ones no longer kept
+	 */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	private int slot(int sample) {
+		if (sample < 0 || sample >= size())
+			throw new IndexOutOfBoundsException("Sample " + sample + " of " + size());
+		return (int) ((count - size() + sample) % capacity);
+	}
+
+	/**
+	 * @param sample number of the sample, from 0 (oldest kept) to size() - 1 (last)
+	 * @param column one of the column constants
+	 */
+	public synchronized long get(int sample, int column) {
+		return columns[column][slot(sample)];
+	}
+
+	/**
+	 * @return mean objective function of the food sources at the end of the cycle of the sample
+	 */
+	public synchronized double getMean(int sample) {
+		return means[slot(sample)];
+	}
+
+	/**
+	 * Writes the samples kept to a CSV file with a header line.
+	 */
+	public synchronized void writeCsv(String filename) throws IOException {
+		PrintWriter out = new PrintWriter(new FileWriter(filename));
+		try {
+			StringBuilder line = new StringBuilder();
+			for (int c = 0; c < COLUMNS.length; c++) {
+				line.append(COLUMNS[c]).append(c == BEST ? ",mean," : ",");
+			}
+			out.println(line.substring(0, line.length() - 1));
+			for (int s = 0; s < size(); s++) {
+				line.setLength(0);
+				for (int c = 0; c < COLUMNS.length; c++) {
+					line.append(get(s, c)).append(',');
+					if (c == BEST)
+						line.append(getMean(s)).append(',');
+				}
+				out.println(line.substring(0, line.length() - 1));
+			}
+		} finally {
+			out.close();
+		}
+		if (out.checkError())
+			throw new IOException("Writing " + filename + " failed");
+	}
+
+	/**
+	 * Writes the samples kept to a JSON file, as an array of objects with one field per column.
+	 */
+	public synchronized void writeJson(String filename) throws IOException {
+		PrintWriter out = new PrintWriter(new FileWriter(filename));
+		try {
+			StringBuilder line = new StringBuilder();
+			out.println("[");
+			for (int s = 0; s < size(); s++) {
+				line.setLength(0);
+				line.append("  {");
+				for (int c = 0; c < COLUMNS.length; c++) {
+					line.append('"').append(COLUMNS[c]).append("\": ").append(get(s, c)).append(", ");
+					if (c == BEST)
+						line.append("\"mean\": ").append(getMean(s)).append(", ");
+				}
+				line.setLength(line.length() - 2);
+				line.append(s + 1 < size() ? "}," : "}");
+				out.println(line);
+			}
+			out.println("]");
+		} finally {
+			out.close();
+		}
+		if (out.checkError())
+			throw new IOException("Writing " + filename + " failed");
+	}
+}
@@ -0,0 +1,12 @@
+package ABC;
+
+/**
+ * Receives the samples of a solver as they are recorded.
+ * Listeners are called on the thread running the solver, so they should return quickly.
+ */
+public interface TelemetryListener {
+	/**
+	 * Called after the sample of a cycle has been recorded; it is the last sample of the telemetry.
+	 */
+	void cycleRecorded(Telemetry telemetry);
+}
@@ -0,0 +1,45 @@
+package ABC;
+
+import info.Problem;
+
+import java.util.Random;
+
+/**
+ * Starts the first food source from a given schedule and the others from variants of it,
+ * where each flight gets a random candidate aircraft with the perturbation probability.
+ * Flights whose aircraft is not free get the first free candidate from a random one.
+ * Scouts create random solutions, so abandoned food sources leave the neighborhood of the schedule.
+ */
+public class WarmStartInitializer extends Initializer {
+	private final int[] warmStart;
+	private final double perturbation;
+
+	/**
+	 * @param warmStart on position i the index of the aircraft of flight i, or -1 for no aircraft
+	 * @param perturbation probability of a random aircraft for a flight in the variants
+	 */
+	public WarmStartInitializer(Problem problem, int[] warmStart, double perturbation) {
+		super(problem);
+		if (warmStart.length != FLIGHTS_COUNT)
+			throw new IllegalArgumentException("Warm start has " + warmStart.length + " flights, the problem has " + FLIGHTS_COUNT);
+		this.warmStart = warmStart.clone();
+		this.perturbation = perturbation;
+	}
+
+	protected int[] schedule(Occupancy occupancy, int index, Random random) {
+		if (index < 0)
+			return randomSchedule(occupancy, random);
+		double p = index == 0 ? 0 : perturbation;
+		int[] aircraftIndices = new int[FLIGHTS_COUNT];
+		for (int j = 0; j < FLIGHTS_COUNT; j++) {
+			int aircraftIndex = warmStart[j];
+			if (aircraftIndex < 0 || aircraftIndex >= AIRCRAFTS_COUNT || random.nextDouble() < p)
+				aircraftIndex = candidates.getCandidate(j, random.nextInt(candidates.size(j)));
+			if (!isFeasible(occupancy, aircraftIndex, j))
+				aircraftIndex = findFeasibleAircraft(occupancy, j, random.nextInt(candidates.size(j)));
+			aircraftIndices[j] = aircraftIndex;
+			occupancy.occupy(aircraftIndex, j);
+		}
+		return aircraftIndices;
+	}
+}
@@ -1,51 +1,84 @@
-
-
-import java.util.ArrayList;
-import java.util.Random;
-
-import utils.Writer;
-import ABC.ABC;
-
-/**
- * The class runs test cases for ABC algorithm.
- * @author Tanja arevi
- * 
- */
-public class Tester {
-
-	public static void main(String[] args) {
-		int max_cycle_number = 10;
-		int colony_size = 10; 
-		int limit_divider = 2;
-		
-		run(max_cycle_number, colony_size, limit_divider);
-	}
-
-	private static void run(int max_cycle_number, int colony_size, int limit_divider) {
-		ABC.execute(max_cycle_number, colony_size, limit_divider);
-		Writer logWriter = new Writer();
-		Random random = new Random();
-		String filepath = "TEST-ABC-"+max_cycle_number+"-"+colony_size+"-"+limit_divider+"("+random.nextInt(20)+").txt";
-		
-		logWriter.add("Artificial bee colony optimization");
-		logWriter.add("ABC parameters:");
-		logWriter.add("MAX_CYCLE_NUMBER: " + max_cycle_number);
-		logWriter.add("COLONY_SIZE: " + colony_size);
-		logWriter.add("LIMIT_TRIALS: " + max_cycle_number / limit_divider);
-		logWriter.add("Run results:");
-		logWriter.add("\t- flights: " + ABC.getNumberOfFlights());
-		logWriter.add("\t- aircrafts: " + ABC.getNumberOfAircrafts());
-		logWriter.add("\t- runtime in ms: " + ABC.getRuntime() + "  ms");
-		logWriter.add("\t- first best: " + ABC.getFirstBest());
-		logWriter.add("\t- last best: " + ABC.getLastBest());
-		logWriter.add("\t- improvement rate: " + ABC.getImprovementRate() + " %");
-		logWriter.add("\t- optimum found in cycle no. " + ABC.getIterationGBest());
-		
-		logWriter.add("\n\nBEST SOLUTION: \n");
-		ArrayList<String> bestSolution = ABC.getBestSolution().print();
-		for (String s : bestSolution) {
-			logWriter.add(s); 
-		}
-		logWriter.writeFile(filepath);
-	}
-}
+
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import info.Problem;
+import utils.Writer;
+import utils.reader;
+import ABC.ABC;
+import ABC.Parameters;
+
+/**
+ * The class runs test cases for ABC algorithm.
+ * @author Tanja Šarčević
+ * 
+ */
+public class Tester {
+
+	public static void main(String[] args) {
+		int max_cycle_number = 10;
+		int colony_size = 10; 
+		int limit_divider = 2;
+		
+		run(max_cycle_number, colony_size, limit_divider);
+	}
+
+	private static void run(int max_cycle_number, int colony_size, int limit_divider) {
+		long timeline = System.currentTimeMillis();
+		reader.readAll("DATA.snapshot");
+		Problem problem = Problem.fromDATA(true);
+		System.out.println("\t- All data was read and initialized. \n\t- Time elapsed: "
+						+ (System.currentTimeMillis() - timeline) + "ms.\n");
+		
+		ABC abc = new ABC(problem, new Parameters(max_cycle_number, colony_size, limit_divider));
+		abc.execute();
+		Writer logWriter = new Writer();
+		Random random = new Random();
+		String filepath = "TEST-ABC-"+max_cycle_number+"-"+colony_size+"-"+limit_divider+"("+random.nextInt(20)+").txt";
+		
+		logWriter.add("Artificial bee colony optimization");
+		logWriter.add("ABC parameters:");
+		logWriter.add("MAX_CYCLE_NUMBER: " + max_cycle_number);
+		logWriter.add("COLONY_SIZE: " + colony_size);
+		logWriter.add("LIMIT_TRIALS: " + max_cycle_number / limit_divider);
+		logWriter.add("Run results:");
+		logWriter.add("\t- flights: " + abc.getNumberOfFlights());
+		logWriter.add("\t- aircrafts: " + abc.getNumberOfAircrafts());
+		logWriter.add("\t- runtime in ms: " + abc.getRuntime() + "  ms");
+		logWriter.add("\t- first best: " + abc.getFirstBest());
+		logWriter.add("\t- last best: " + abc.getLastBest());
+		logWriter.add("\t- improvement rate: " + abc.getImprovementRate() + " %");
+		logWriter.add("\t- optimum found in cycle no. " + abc.getIterationGBest());
+		for (String adaptation : abc.getAdaptations()) {
+			logWriter.add("\t- adapted in " + adaptation);
+		}
+		
+		logWriter.add("\n\nBEST SOLUTION: \n");
+		ArrayList<String> bestSolution = abc.getBestSolution().print();
+		for (String s : bestSolution) {
+			logWriter.add(s); 
+		}
+		logWriter.writeFile(filepath);
+		try {
+			abc.getTelemetry().writeCsv(filepath.replace(".txt", "-cycles.csv"));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		
+		testCancelAfterRun(abc);
+	}
+
+	/**
+	 * Cancels the solver after its run has finished and runs it again; the cancellation
+	 * belonged to the finished run, so the new one has to run all its cycles.
+	 */
+	private static void testCancelAfterRun(ABC abc) {
+		abc.cancel();
+		abc.execute();
+		if (!"maximal number of cycles".equals(abc.getStopReason()))
+			throw new IllegalStateException("Cancelling after a run stopped the next run: " + abc.getStopReason());
+		System.out.println("	- Cancelling after a run did not stop the next run.");
+	}
+}
@@ -5,6 +5,7 @@ public class Aircraft {
 	private String tail_number;
 	private String aircraft_model_code;
 	private String aircraft_model; // -> aircraft_model.aircraft_model
+	private int aircraft_model_id; // id in SymbolTable.AIRCRAFT_MODELS
 	private boolean fake;
 	
 	public Aircraft(String tail_number, String aircraft_model_code,
@@ -12,6 +13,7 @@ public class Aircraft {
 		this.tail_number = tail_number;
 		this.aircraft_model_code = aircraft_model_code;
 		this.aircraft_model = aircraft_model;
+		this.aircraft_model_id = SymbolTable.AIRCRAFT_MODELS.id(aircraft_model);
 		this.fake = false;
 	}
 	
@@ -19,6 +21,7 @@ public class Aircraft {
 		this.tail_number = "";
 		this.aircraft_model_code = "";
 		this.aircraft_model = "";
+		this.aircraft_model_id = -1;
 		this.fake = true;
 	}
 
@@ -39,6 +42,10 @@ public class Aircraft {
 	}
 	public void setAircraft_model(String aircraft_model) {
 		this.aircraft_model = aircraft_model;
+		this.aircraft_model_id = SymbolTable.AIRCRAFT_MODELS.id(aircraft_model);
+	}
+	public int getAircraft_model_id() {
+		return aircraft_model_id;
 	}
 	public boolean isFake() {
 		return fake;
@@ -2,8 +2,10 @@ package info;
 
 public class AircraftModel {
 	private String aircraft_model;
+	private int aircraft_model_id; // id in SymbolTable.AIRCRAFT_MODELS
 	private String description = null;
 	private String fleet = null;
+	private int fleet_id; // id in SymbolTable.FLEETS
 	private int capacity;
 	private int mtow;
 	private double atc_avg_cost_nautical_mile;
@@ -23,8 +25,10 @@ public class AircraftModel {
 			int airport_handling_cost, int cpt, int opt, int scb, int ccb,
 			int cab) {
 		this.aircraft_model = aircraft_model;
+		this.aircraft_model_id = SymbolTable.AIRCRAFT_MODELS.id(aircraft_model);
 		this.description = description;
 		this.fleet = fleet;
+		this.fleet_id = SymbolTable.FLEETS.id(fleet);
 		this.capacity = capacity;
 		this.mtow = mtow;
 		this.atc_avg_cost_nautical_mile = atc_avg_cost_nautical_mile;
@@ -43,6 +47,10 @@ public class AircraftModel {
 	}
 	public void setAircraft_model(String aircraft_model) {
 		this.aircraft_model = aircraft_model;
+		this.aircraft_model_id = SymbolTable.AIRCRAFT_MODELS.id(aircraft_model);
+	}
+	public int getAircraft_model_id() {
+		return aircraft_model_id;
 	}
 	public String getDescription() {
 		return description;
@@ -55,6 +63,10 @@ public class AircraftModel {
 	}
 	public void setFleet(String fleet) {
 		this.fleet = fleet;
+		this.fleet_id = SymbolTable.FLEETS.id(fleet);
+	}
+	public int getFleet_id() {
+		return fleet_id;
 	}
 	public int getCapacity() {
 		return capacity;
@@ -2,13 +2,17 @@ package info;
 
 public class AirportCharge {
 	private String iata_code;
+	private int iata_code_id; // id in SymbolTable.AIRPORTS
 	private String fleet;
+	private int fleet_id; // id in SymbolTable.FLEETS
 	private String charge_type;
 	private double charge = 0;
 	
 	public AirportCharge(String iata_code, String fleet, String charge_type, double charge) {
 		this.iata_code = iata_code;
+		this.iata_code_id = SymbolTable.AIRPORTS.id(iata_code);
 		this.fleet = fleet;
+		this.fleet_id = SymbolTable.FLEETS.id(fleet);
 		this.charge_type = charge_type;
 		this.charge = charge;
 	}
@@ -18,12 +22,20 @@ public class AirportCharge {
 	}
 	public void setIata_code(String iata_code) {
 		this.iata_code = iata_code;
+		this.iata_code_id = SymbolTable.AIRPORTS.id(iata_code);
+	}
+	public int getIata_code_id() {
+		return iata_code_id;
 	}
 	public String getFleet() {
 		return fleet;
 	}
 	public void setFleet(String fleet) {
 		this.fleet = fleet;
+		this.fleet_id = SymbolTable.FLEETS.id(fleet);
+	}
+	public int getFleet_id() {
+		return fleet_id;
 	}
 	public String getCharge_type() {
 		return charge_type;
@@ -0,0 +1,81 @@
+package info;
+
+import java.util.List;
+
+/**
+ * Landing and parking charges indexed by the ids of the airport (SymbolTable.AIRPORTS)
+ * and fleet (SymbolTable.FLEETS), so a charge is one array read.
+ * The charges paid by a flight - landing at the origin, landing and parking at the
+ * destination - are also summed once for every origin, destination and fleet.
+ */
+public class AirportChargeIndex {
+	/* Charge types */
+	public static final int LND = 0;
+	public static final int PRK = 1;
+	private static final int TYPES = 2;
+
+	private int airportsCount;
+	private int fleetsCount;
+	private double[] charges; // by airport, fleet and type
+	private double[] flightCharges; // by origin, destination and fleet
+
+	public AirportChargeIndex(List<AirportCharge> airportCharges) {
+		airportsCount = SymbolTable.AIRPORTS.size();
+		fleetsCount = SymbolTable.FLEETS.size();
+		charges = new double[airportsCount * fleetsCount * TYPES];
+		boolean[] given = new boolean[charges.length];
+		/* the first charge given for an airport, fleet and type wins */
+		for (AirportCharge ac : airportCharges) {
+			int type = chargeType(ac.getCharge_type());
+			if (type < 0)
+				continue;
+			int i = (ac.getIata_code_id() * fleetsCount + ac.getFleet_id()) * TYPES + type;
+			if (!given[i]) {
+				charges[i] = ac.getCharge();
+				given[i] = true;
+			}
+		}
+
+		flightCharges = new double[airportsCount * airportsCount * fleetsCount];
+		for (int o = 0; o < airportsCount; o++) {
+			for (int d = 0; d < airportsCount; d++) {
+				for (int f = 0; f < fleetsCount; f++) {
+					flightCharges[(o * airportsCount + d) * fleetsCount + f] =
+							getCharge(o, f, LND) + getCharge(d, f, LND) + getCharge(d, f, PRK);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return LND, PRK or -1 for other charge types
+	 */
+	public static int chargeType(String charge_type) {
+		if (charge_type.equals("LND"))
+			return LND;
+		if (charge_type.equals("PRK"))
+			return PRK;
+		return -1;
+	}
+
+	/**
+	 * @param type LND or PRK
+	 * @return charge of the airport for the fleet, 0 if it was not given
+	 */
+	public double getCharge(int airport, int fleet, int type) {
+		if (airport < 0 || fleet < 0 || airport >= airportsCount || fleet >= fleetsCount)
+			return 0;
+		return charges[(airport * fleetsCount + fleet) * TYPES + type];
+	}
+
+	/**
+	 * @return charges paid by a flight of the fleet: landing at the origin, landing and
+	 * parking at the destination
+	 */
+	public double getFlightCharges(int origin, int destination, int fleet) {
+		if (origin < 0 || destination < 0 || fleet < 0
+				|| origin >= airportsCount || destination >= airportsCount || fleet >= fleetsCount)
+			return 0;
+		return flightCharges[(origin * airportsCount + destination) * fleetsCount + fleet];
+	}
+}
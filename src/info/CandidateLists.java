@@ -0,0 +1,95 @@
+package info;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Candidate aircrafts of every flight: the aircrafts whose model has the capacity for
+ * the seats sold on the flight, and the fake aircraft, sorted by the cost of operating
+ * the flight. Aircrafts with an unknown model are candidates of every flight.
+ * A flight that no real aircraft has the capacity for keeps every aircraft as a
+ * candidate, so it can still be operated when cancelling is not allowed.
+ * Candidates are referred to by their rank, 0 being the cheapest.
+ */
+public class CandidateLists {
+	private int aircraftsCount;
+	private int[] offsets; // candidates of flight i are candidates[offsets[i]...offsets[i + 1]]
+	private int[] candidates;
+	private int[] ranks; // by flight and aircraft, -1 if the aircraft is not a candidate
+
+	public CandidateLists(List<Flight> flights, List<Aircraft> aircrafts, List<AircraftModel> models,
+			final CostTable costs) {
+		int flightsCount = flights.size();
+		aircraftsCount = aircrafts.size();
+
+		/* capacity of each aircraft, the first model with its id if there are several */
+		int[] modelCapacities = new int[SymbolTable.AIRCRAFT_MODELS.size()];
+		Arrays.fill(modelCapacities, -1);
+		for (int m = models.size() - 1; m >= 0; m--) {
+			modelCapacities[models.get(m).getAircraft_model_id()] = models.get(m).getCapacity();
+		}
+		int[] capacities = new int[aircraftsCount];
+		for (int a = 0; a < aircraftsCount; a++) {
+			Aircraft aircraft = aircrafts.get(a);
+			capacities[a] = aircraft.isFake() ? -1 : modelCapacities[aircraft.getAircraft_model_id()];
+		}
+
+		offsets = new int[flightsCount + 1];
+		candidates = new int[flightsCount * aircraftsCount];
+		ranks = new int[flightsCount * aircraftsCount];
+		Arrays.fill(ranks, -1);
+		Integer[] order = new Integer[aircraftsCount];
+		for (int i = 0; i < flightsCount; i++) {
+			int seats = flights.get(i).getTotal_seats_sold();
+			int count = 0;
+			boolean real = false;
+			for (int a = 0; a < aircraftsCount; a++) {
+				boolean fake = aircrafts.get(a).isFake();
+				if (fake || capacities[a] < 0 || capacities[a] >= seats) {
+					order[count++] = a;
+					real |= !fake;
+				}
+			}
+			if (!real) {
+				count = 0;
+				for (int a = 0; a < aircraftsCount; a++) {
+					order[count++] = a;
+				}
+			}
+			final int flight = i;
+			Arrays.sort(order, 0, count, new Comparator<Integer>() {
+				public int compare(Integer a, Integer b) {
+					return Double.compare(costs.getCost(flight, a), costs.getCost(flight, b));
+				}
+			});
+			offsets[i + 1] = offsets[i] + count;
+			for (int r = 0; r < count; r++) {
+				candidates[offsets[i] + r] = order[r];
+				ranks[i * aircraftsCount + order[r]] = r;
+			}
+		}
+		candidates = Arrays.copyOf(candidates, offsets[flightsCount]);
+	}
+
+	/**
+	 * @return number of candidates of the flight
+	 */
+	public int size(int flight) {
+		return offsets[flight + 1] - offsets[flight];
+	}
+
+	/**
+	 * @return index of the candidate of the flight with the given rank
+	 */
+	public int getCandidate(int flight, int rank) {
+		return candidates[offsets[flight] + rank];
+	}
+
+	/**
+	 * @return rank of the aircraft among the candidates of the flight, -1 if it is not a candidate
+	 */
+	public int getRank(int flight, int aircraft) {
+		return ranks[flight * aircraftsCount + aircraft];
+	}
+}
@@ -2,10 +2,12 @@ package info;
 
 public class CityPair {
 	private String origin;
+	private int origin_id; // id in SymbolTable.AIRPORTS
 	private String origin_description = null;
 	private double origin_latitude;
 	private double origin_longitude;
 	private String destination;
+	private int destination_id; // id in SymbolTable.AIRPORTS
 	private String destination_description = null;
 	private double destination_latitude;
 	private double destination_longitude;
@@ -18,10 +20,12 @@ public class CityPair {
 			double destination_latitude, double destination_longitude,
 			double distance_in_nautical_miles, double distance_in_km) {
 		this.origin = origin;
+		this.origin_id = SymbolTable.AIRPORTS.id(origin);
 		this.origin_description = origin_description;
 		this.origin_latitude = origin_latitude;
 		this.origin_longitude = origin_longitude;
 		this.destination = destination;
+		this.destination_id = SymbolTable.AIRPORTS.id(destination);
 		this.destination_description = destination_description;
 		this.destination_latitude = destination_latitude;
 		this.destination_longitude = destination_longitude;
@@ -34,12 +38,24 @@ public class CityPair {
 			return true;
 		return false;
 	}
+
+	/**
+	 * @param ori id of the origin in SymbolTable.AIRPORTS
+	 * @param dest id of the destination in SymbolTable.AIRPORTS
+	 */
+	public boolean validateOriDest(int ori, int dest) {
+		return this.origin_id == ori && this.destination_id == dest;
+	}
 	
 	public String getOrigin() {
 		return origin;
 	}
 	public void setOrigin(String origin) {
 		this.origin = origin;
+		this.origin_id = SymbolTable.AIRPORTS.id(origin);
+	}
+	public int getOrigin_id() {
+		return origin_id;
 	}
 	public String getOrigin_description() {
 		return origin_description;
@@ -64,6 +80,10 @@ public class CityPair {
 	}
 	public void setDestination(String destination) {
 		this.destination = destination;
+		this.destination_id = SymbolTable.AIRPORTS.id(destination);
+	}
+	public int getDestination_id() {
+		return destination_id;
 	}
 	public String getDestination_description() {
 		return destination_description;
@@ -0,0 +1,89 @@
+package info;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distances between airports, in a flat array indexed by the ids of the origin and
+ * destination in SymbolTable.AIRPORTS, so finding the distance of a flight is one
+ * array read.
+ * A pair given in only one direction is used for both. A pair missing in both
+ * directions gets the great-circle distance between the coordinates of its airports,
+ * taken from the other city pairs they appear in.
+ */
+public class CityPairIndex {
+	/* Mean radius of the Earth */
+	public static final double EARTH_RADIUS_NAUTICAL_MILES = 3440.065;
+
+	private int airportsCount;
+	private double[] distances; // NaN for missing pairs
+	private double[] latitudes; // NaN for airports without coordinates
+	private double[] longitudes;
+
+	public CityPairIndex(List<CityPair> cityPairs) {
+		airportsCount = SymbolTable.AIRPORTS.size();
+		distances = new double[airportsCount * airportsCount];
+		latitudes = new double[airportsCount];
+		longitudes = new double[airportsCount];
+		Arrays.fill(distances, Double.NaN);
+		Arrays.fill(latitudes, Double.NaN);
+		Arrays.fill(longitudes, Double.NaN);
+
+		/* the first pair given for a direction wins, as when searching the list */
+		for (CityPair cp : cityPairs) {
+			int o = cp.getOrigin_id(), d = cp.getDestination_id();
+			if (Double.isNaN(distances[o * airportsCount + d]))
+				distances[o * airportsCount + d] = cp.getDistance_in_nautical_miles();
+			if (Double.isNaN(latitudes[o])) {
+				latitudes[o] = cp.getOrigin_latitude();
+				longitudes[o] = cp.getOrigin_longitude();
+			}
+			if (Double.isNaN(latitudes[d])) {
+				latitudes[d] = cp.getDestination_latitude();
+				longitudes[d] = cp.getDestination_longitude();
+			}
+		}
+		for (CityPair cp : cityPairs) {
+			int o = cp.getOrigin_id(), d = cp.getDestination_id();
+			if (Double.isNaN(distances[d * airportsCount + o]))
+				distances[d * airportsCount + o] = distances[o * airportsCount + d];
+		}
+	}
+
+	/**
+	 * @return true if a city pair was given between the airports, in any direction
+	 */
+	public boolean contains(int origin, int destination) {
+		return origin < airportsCount && destination < airportsCount
+				&& !Double.isNaN(distances[origin * airportsCount + destination]);
+	}
+
+	/**
+	 * @param origin id of the origin in SymbolTable.AIRPORTS
+	 * @param destination id of the destination in SymbolTable.AIRPORTS
+	 * @return distance of the city pair, the great-circle distance if there is no city pair,
+	 * or 0 if the coordinates of an airport are not known
+	 */
+	public double getDistance_in_nautical_miles(int origin, int destination) {
+		if (origin < 0 || destination < 0 || origin >= airportsCount || destination >= airportsCount)
+			return 0;
+		double distance = distances[origin * airportsCount + destination];
+		if (!Double.isNaN(distance))
+			return distance;
+		if (Double.isNaN(latitudes[origin]) || Double.isNaN(latitudes[destination]))
+			return 0;
+		return greatCircleNauticalMiles(latitudes[origin], longitudes[origin], latitudes[destination], longitudes[destination]);
+	}
+
+	/**
+	 * Haversine distance between two points given in degrees.
+	 */
+	public static double greatCircleNauticalMiles(double latitude1, double longitude1, double latitude2, double longitude2) {
+		double phi1 = Math.toRadians(latitude1), phi2 = Math.toRadians(latitude2);
+		double dPhi = phi2 - phi1;
+		double dLambda = Math.toRadians(longitude2 - longitude1);
+		double h = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+				+ Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+		return 2 * EARTH_RADIUS_NAUTICAL_MILES * Math.asin(Math.min(1, Math.sqrt(h)));
+	}
+}
@@ -0,0 +1,104 @@
+package info;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cost of operating every flight with every aircraft model, computed once
+ * after the data has been read.
+ * Costs are stored in a flat array, one row per flight and one column per
+ * aircraft model, so evaluating a schedule is only a sum of array reads.
+ */
+public class CostTable {
+	/* Penalty for a flight operated by the fake (cancelling) aircraft */
+	public static final double CANCELLATION_COST = 100000;
+
+	private int flightsCount;
+	private int columns;
+	private double[] costs;
+	private int[] aircraftColumns;
+
+	/**
+	 * @param flights flights of the operational plan, in solution order
+	 * @param aircrafts aircrafts that can be assigned, in solution order
+	 * @param models aircraft models with their average costs
+	 * @param cityPairs distances between airports
+	 * @param charges airport charges
+	 */
+	public CostTable(List<Flight> flights, List<Aircraft> aircrafts, List<AircraftModel> models,
+			CityPairIndex cityPairs, AirportChargeIndex charges) {
+		int modelsCount = models.size();
+		/* one column per model, one for unknown models (no cost) and one for cancellation */
+		int unknownColumn = modelsCount;
+		int cancelColumn = modelsCount + 1;
+
+		this.flightsCount = flights.size();
+		this.columns = modelsCount + 2;
+		this.costs = new double[flightsCount * columns];
+		this.aircraftColumns = new int[aircrafts.size()];
+
+		/* column of each model id, the first model with the id if there are several */
+		int[] modelColumns = new int[SymbolTable.AIRCRAFT_MODELS.size()];
+		Arrays.fill(modelColumns, unknownColumn);
+		for (int m = modelsCount - 1; m >= 0; m--) {
+			modelColumns[models.get(m).getAircraft_model_id()] = m;
+		}
+		for (int a = 0; a < aircrafts.size(); a++) {
+			Aircraft aircraft = aircrafts.get(a);
+			aircraftColumns[a] = aircraft.isFake() ? cancelColumn : modelColumns[aircraft.getAircraft_model_id()];
+		}
+
+		for (int i = 0; i < flightsCount; i++) {
+			Flight flight = flights.get(i);
+			/*Time Difference for Schedule*/
+			int timeSDif = flight.getSchedule_time_of_arrival().difWithMinutes(flight.getSchedule_time_of_departure());
+			/*Distance Between Airports*/
+			double distanceNauticalMiles = cityPairs.getDistance_in_nautical_miles(flight.getOrigin_id(), flight.getDestination_id());
+			int row = i * columns;
+			for (int m = 0; m < modelsCount; m++) {
+				costs[row + m] = flightCost(flight, models.get(m), timeSDif, distanceNauticalMiles, charges);
+			}
+			costs[row + cancelColumn] = CANCELLATION_COST;
+		}
+	}
+
+	/**
+	 * Computes the cost of operating the flight with the aircraft model: handling, fuel,
+	 * maintenance, ATC and airport charges (take off, landing and parking).
+	 */
+	private static double flightCost(Flight flight, AircraftModel model, int timeSDif,
+			double distanceNauticalMiles, AirportChargeIndex charges) {
+		double value = 0.0;
+		value += model.getAirport_handling_cost() * 2;
+		value += model.getFuel_avg_cost_minute() * timeSDif;
+		value += model.getMaintenance_avg_cost_minute() * timeSDif;
+		value += model.getAtc_avg_cost_nautical_mile() * distanceNauticalMiles;
+
+		/*Get charges from Airports (TkOff, Land and Park)*/
+		value += charges.getFlightCharges(flight.getOrigin_id(), flight.getDestination_id(), model.getFleet_id());
+		return value;
+	}
+
+	/**
+	 * @return cost of operating flight with the aircraft on the given index
+	 */
+	public double getCost(int flight, int aircraft) {
+		return costs[flight * columns + aircraftColumns[aircraft]];
+	}
+
+	/**
+	 * @param aircraftIndices array containing on position i the index of the aircraft of flight i
+	 * @return total cost of the assignment
+	 */
+	public double totalCost(int[] aircraftIndices) {
+		double value = 0.0;
+		for (int i = 0, row = 0; i < flightsCount; i++, row += columns) {
+			value += costs[row + aircraftColumns[aircraftIndices[i]]];
+		}
+		return value;
+	}
+
+	public int getFlightsCount() {
+		return flightsCount;
+	}
+}
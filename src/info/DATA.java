@@ -10,42 +10,53 @@ public class DATA {
 	private static ArrayList<CityPair> city_pairs = new ArrayList<CityPair>();
 	private static ArrayList<Event> events = new ArrayList<Event>();
 	private static ArrayList<Flight> flights = new ArrayList<Flight>();
+	private static FlightKeyIndex flightKeys = new FlightKeyIndex();
 	
 	public static void addAircraftModel(AircraftModel am) {aircraft_models.add(am);}
-	public static void addAircraft(Aircraft a) {aircrafts.add(a);}
+	public static void addAircraft(Aircraft a) {a.setIndex(aircrafts.size()); aircrafts.add(a);}
 	public static void addAirportCharge(AirportCharge ac) {airport_charges.add(ac);}
 	public static void addCityPair(CityPair cp) {city_pairs.add(cp);}
 	public static void addEvent(Event e) {events.add(e);}
-	public static void addFlight(Flight f) {flights.add(f);}
+	public static void addFlight(Flight f) {flightKeys.add(f, flights.size()); flights.add(f);}
 	
 	/*
-	 * Sort flights by departure
+	 * Removes all the data read so far
 	 */
-	public static void bubbleSortFlights() {
-		boolean done = false;
-		while (!done) {
-			int changes = 0;
-			int listSize = flights.size();
-			for (int i = 0; i < listSize - 1; i++) {
-				if (flights.get(i).getSchedule_time_of_departure().compareTo(flights.get(i + 1).getSchedule_time_of_departure()) == 1) {
-					Flight temp = flights.get(i);
-					flights.set(i, flights.get(i + 1));
-					flights.set(i + 1, temp);
-					changes++;
-				}
-			}
-			if (changes == 0)
-				done = true;
+	public static void clear() {
+		aircraft_models = new ArrayList<AircraftModel>();
+		aircrafts = new ArrayList<Aircraft>();
+		airport_charges = new ArrayList<AirportCharge>();
+		city_pairs = new ArrayList<CityPair>();
+		events = new ArrayList<Event>();
+		flights = new ArrayList<Flight>();
+		flightKeys = new FlightKeyIndex();
+	}
+
+	private static void indexFlights() {
+		flightKeys = new FlightKeyIndex();
+		for (int i = 0; i < flights.size(); i++) {
+			flightKeys.add(flights.get(i), i);
 		}
 	}
 	
-	public static int getFlightIndex(String flight_number, Date flight_date) {
-		int flightSize = flights.size();
-		for(int i = 0; i < flightSize; i++) {
-			if(flights.get(i).getFlight_number().equals(flight_number) && flights.get(i).getFlight_date().compareTo(flight_date)==0)
-				return i; 
+	/*
+	 * Sort flights by departure, flights departing at the same time keep their order
+	 */
+	public static void sortFlights() {
+		FlightTimeline timeline = new FlightTimeline(flights);
+		ArrayList<Flight> sorted = new ArrayList<Flight>(flights.size());
+		for (int i = 0; i < timeline.size(); i++) {
+			sorted.add(flights.get(timeline.getFlight(i)));
 		}
-		return -1;
+		flights = sorted;
+		indexFlights();
+	}
+	
+	/*
+	 * Index of the first flight with the number and date, -1 if there is none
+	 */
+	public static int getFlightIndex(String flight_number, Date flight_date) {
+		return flightKeys.get(flight_number, flight_date);
 	}
 	
 	public static ArrayList<AircraftModel> getAircraft_models() {
@@ -99,5 +110,6 @@ public class DATA {
 	}
 	public static void setFlights(ArrayList<Flight> flights) {
 		DATA.flights = flights;
+		indexFlights();
 	}
 }
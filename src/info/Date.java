@@ -1,9 +1,14 @@
 package info;
 
-import org.joda.time.DateTime;
-
-public class Date {
+/**
+ * Date and time of the data files, without time zone. A date without day
+ * (ano, mes and dia 0) is a time of the day or a duration.
+ * The number of minutes since the epoch is computed once, when the fields are set,
+ * so comparisons and differences are plain arithmetic.
+ */
+public class Date implements Comparable<Date> {
 	private int ano = 0, mes = 0, dia = 0, hora = 0, minuto = 0, segundo = 0;
+	private long epochMinute; // minutes since 1970-01-01 00:00, or since 00:00 for a time without day
 	
 	public Date(String d) {
 		if(d.length() == 8){
@@ -43,26 +48,96 @@ public class Date {
 			d = d.substring(d.indexOf(":")+1);
 			segundo = Integer.valueOf(d.substring(0, d.length()));
 		}
+		updateEpochMinute();
 	}
 	
+	public Date(int ano, int mes, int dia, int hora, int minuto, int segundo) {
+		this.ano = ano;
+		this.mes = mes;
+		this.dia = dia;
+		this.hora = hora;
+		this.minuto = minuto;
+		this.segundo = segundo;
+		updateEpochMinute();
+	}
+
+	private void updateEpochMinute() {
+		if (ano == 0 && mes == 0 && dia == 0)
+			epochMinute = hora * 60 + minuto;
+		else
+			epochMinute = toEpochDay() * 1440L + hora * 60 + minuto;
+	}
+
+	/**
+	 * @return whole minutes from that to this, negative if this is before that
+	 */
 	public int difWithMinutes(Date that){
-		DateTime d1 = new DateTime(this.ano, this.mes, this.dia, this.hora, this.minuto, this.segundo);
-		DateTime d2 = new DateTime(that.ano, that.mes, that.dia, that.hora, that.minuto, that.segundo);
-		long seconds = (d1.getMillis() - d2.getMillis())/1000;
-		int minutes = (int) (seconds/60);
-		
-		return minutes;
+		long seconds = (this.epochMinute - that.epochMinute) * 60 + (this.segundo - that.segundo);
+		return (int) (seconds / 60);
 	}
 	
+	/**
+	 * @return -1, 0 or 1 as this is before, at the same time or after that
+	 */
 	public int compareTo(Date that){
-		DateTime d1 = new DateTime(this.ano, this.mes, this.dia, this.hora, this.minuto, this.segundo);
-		DateTime d2 = new DateTime(that.ano, that.mes, that.dia, that.hora, that.minuto, that.segundo);
-		
-		if(d1.getMillis() < d2.getMillis())
-			return -1;
-		else if (d1.getMillis() > d2.getMillis())
-			return 1;
-		else return 0;
+		if (this.epochMinute != that.epochMinute)
+			return this.epochMinute < that.epochMinute ? -1 : 1;
+		if (this.segundo != that.segundo)
+			return this.segundo < that.segundo ? -1 : 1;
+		return 0;
+	}
+
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof Date))
+			return false;
+		Date that = (Date) o;
+		return ano == that.ano && mes == that.mes && dia == that.dia
+				&& hora == that.hora && minuto == that.minuto && segundo == that.segundo;
+	}
+
+	public int hashCode() {
+		return (int) (epochMinute ^ (epochMinute >>> 32)) * 61 + segundo;
+	}
+
+	/**
+	 * @return number of days since 1970-01-01 (proleptic Gregorian calendar)
+	 */
+	public int toEpochDay() {
+		int y = mes <= 2 ? ano - 1 : ano;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yoe = y - era * 400;
+		int doy = (153 * (mes + (mes > 2 ? -3 : 9)) + 2) / 5 + dia - 1;
+		int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+
+	/**
+	 * @return number of minutes since 1970-01-01 00:00 (proleptic Gregorian calendar),
+	 * or since 00:00 for a time without day
+	 */
+	public long toEpochMinute() {
+		return epochMinute;
+	}
+
+	/**
+	 * @param epochMinute number of minutes since 1970-01-01 00:00 (proleptic Gregorian calendar)
+	 * @return date and time of the given minute, with no seconds
+	 */
+	public static Date ofEpochMinute(long epochMinute) {
+		long epochDay = Math.floorDiv(epochMinute, 1440L);
+		int minuteOfDay = (int) Math.floorMod(epochMinute, 1440L);
+		long z = epochDay + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		int doe = (int) (z - era * 146097);
+		int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		int mp = (5 * doy + 2) / 153;
+		int dia = doy - (153 * mp + 2) / 5 + 1;
+		int mes = mp < 10 ? mp + 3 : mp - 9;
+		int ano = (int) (yoe + era * 400) + (mes <= 2 ? 1 : 0);
+		return new Date(ano, mes, dia, minuteOfDay / 60, minuteOfDay % 60, 0);
 	}
 
 	public int getAno() {
@@ -70,36 +145,42 @@ public class Date {
 	}
 	public void setAno(int ano) {
 		this.ano = ano;
+		updateEpochMinute();
 	}
 	public int getMes() {
 		return mes;
 	}
 	public void setMes(int mes) {
 		this.mes = mes;
+		updateEpochMinute();
 	}
 	public int getDia() {
 		return dia;
 	}
 	public void setDia(int dia) {
 		this.dia = dia;
+		updateEpochMinute();
 	}
 	public int getHora() {
 		return hora;
 	}
 	public void setHora(int hora) {
 		this.hora = hora;
+		updateEpochMinute();
 	}
 	public int getMinuto() {
 		return minuto;
 	}
 	public void setMinuto(int minuto) {
 		this.minuto = minuto;
+		updateEpochMinute();
 	}
 	public int getSegundo() {
 		return segundo;
 	}
 	public void setSegundo(int segundo) {
 		this.segundo = segundo;
+		updateEpochMinute();
 	}
 	
 	public String toString() {
@@ -4,7 +4,9 @@ public class Flight {
 	private Date flight_date;
 	private String flight_number;
 	private String origin; // -> city_pair.origin
+	private int origin_id; // id in SymbolTable.AIRPORTS
 	private String destination; // -> city_pair.destination
+	private int destination_id; // id in SymbolTable.AIRPORTS
 	private String flight_carrier = null; // -> airline_charge.flight_carrier
 	private Date schedule_time_of_departure;
 	private Date schedule_time_of_arrival = null;
@@ -24,7 +26,9 @@ public class Flight {
 		this.flight_date = flight_date;
 		this.flight_number = flight_number;
 		this.origin = origin;
+		this.origin_id = SymbolTable.AIRPORTS.id(origin);
 		this.destination = destination;
+		this.destination_id = SymbolTable.AIRPORTS.id(destination);
 		this.flight_carrier = flight_carrier;
 		this.schedule_time_of_departure = schedule_time_of_departure;
 		this.schedule_time_of_arrival = schedule_time_of_arrival;
@@ -54,12 +58,20 @@ public class Flight {
 	}
 	public void setOrigin(String origin) {
 		this.origin = origin;
+		this.origin_id = SymbolTable.AIRPORTS.id(origin);
+	}
+	public int getOrigin_id() {
+		return origin_id;
 	}
 	public String getDestination() {
 		return destination;
 	}
 	public void setDestination(String destination) {
 		this.destination = destination;
+		this.destination_id = SymbolTable.AIRPORTS.id(destination);
+	}
+	public int getDestination_id() {
+		return destination_id;
 	}
 	public String getFlight_carrier() {
 		return flight_carrier;
@@ -0,0 +1,80 @@
+package info;
+
+import java.util.HashMap;
+
+/**
+ * Index of the flights by flight number and flight date, used to find the flight of
+ * an event in constant time. The legs of a flight share its number and date, so
+ * flights are also indexed by number, date, origin and destination of the leg.
+ */
+public class FlightKeyIndex {
+	private HashMap<Key, Integer> indices = new HashMap<Key, Integer>();
+
+	/**
+	 * Adds the flight on the given index. If another flight with the same number and
+	 * date was already added, the index of the first one is kept.
+	 */
+	public void add(Flight flight, int index) {
+		Key key = new Key(flight.getFlight_number(), flight.getFlight_date(), -1, -1);
+		if (!indices.containsKey(key))
+			indices.put(key, index);
+		Key leg = new Key(flight.getFlight_number(), flight.getFlight_date(), flight.getOrigin_id(),
+				flight.getDestination_id());
+		if (!indices.containsKey(leg))
+			indices.put(leg, index);
+	}
+
+	/**
+	 * @return index of the flight, or -1 if there is no such flight
+	 */
+	public int get(String flight_number, Date flight_date) {
+		Integer index = indices.get(new Key(flight_number, flight_date, -1, -1));
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return index of the leg of the flight from origin to destination, or -1 if there is no such flight
+	 */
+	public int get(String flight_number, Date flight_date, String origin, String destination) {
+		int originId = SymbolTable.AIRPORTS.find(origin);
+		int destinationId = SymbolTable.AIRPORTS.find(destination);
+		if (originId < 0 || destinationId < 0)
+			return -1;
+		Integer index = indices.get(new Key(flight_number, flight_date, originId, destinationId));
+		return index == null ? -1 : index;
+	}
+
+	public void clear() {
+		indices.clear();
+	}
+
+	/* Flight number, date, origin and destination (-1 for any); dates are equal when Date.compareTo is 0 */
+	private static final class Key {
+		private final String flight_number;
+		private final long epochMinute;
+		private final int segundo;
+		private final int origin;
+		private final int destination;
+
+		Key(String flight_number, Date flight_date, int origin, int destination) {
+			this.flight_number = flight_number;
+			this.epochMinute = flight_date.toEpochMinute();
+			this.segundo = flight_date.getSegundo();
+			this.origin = origin;
+			this.destination = destination;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Key))
+				return false;
+			Key that = (Key) o;
+			return epochMinute == that.epochMinute && segundo == that.segundo && origin == that.origin
+					&& destination == that.destination
+					&& flight_number.equals(that.flight_number);
+		}
+
+		public int hashCode() {
+			return (flight_number.hashCode() * 31 + (int) (epochMinute ^ (epochMinute >>> 32)) + segundo) * 31 + origin * 1021 + destination;
+		}
+	}
+}
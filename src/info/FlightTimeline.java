@@ -0,0 +1,215 @@
+package info;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Flights sorted by scheduled departure, with secondary indices by day, by origin
+ * (departures) and by destination (arrivals), for range queries such as all the
+ * flights departing an airport between two times.
+ * Flights are referred to by their index in the list the timeline was built from.
+ * Flights with the same time keep the order of the list.
+ */
+public class FlightTimeline {
+	private int[] byDeparture; // flights sorted by departure
+	private long[] departures; // departure of each flight of byDeparture
+	private long[] arrivals; // arrival of each flight of byDeparture
+	private long longest; // longest time from departure to arrival of a flight
+
+	private int firstDay;
+	private int[] dayOffsets; // flights of day d are byDay[dayOffsets[d - firstDay]...dayOffsets[d - firstDay + 1]]
+	private int[] byDay;
+
+	private int[] originOffsets; // by origin airport id
+	private int[] byOrigin; // sorted by departure within an origin
+	private long[] originDepartures;
+
+	private int[] destinationOffsets; // by destination airport id
+	private int[] byDestination; // sorted by arrival within a destination
+	private long[] destinationArrivals;
+
+	public FlightTimeline(List<Flight> flights) {
+		int n = flights.size();
+		long[] departure = new long[n];
+		long[] arrival = new long[n];
+		int[] day = new int[n];
+		int[] origin = new int[n];
+		int[] destination = new int[n];
+		int lastDay = Integer.MIN_VALUE;
+		firstDay = Integer.MAX_VALUE;
+		int airportsCount = SymbolTable.AIRPORTS.size();
+		for (int i = 0; i < n; i++) {
+			Flight flight = flights.get(i);
+			departure[i] = flight.getSchedule_time_of_departure().toEpochMinute();
+			arrival[i] = flight.getSchedule_time_of_arrival().toEpochMinute();
+			day[i] = flight.getFlight_date().toEpochDay();
+			origin[i] = flight.getOrigin_id();
+			destination[i] = flight.getDestination_id();
+			firstDay = Math.min(firstDay, day[i]);
+			lastDay = Math.max(lastDay, day[i]);
+		}
+		if (n == 0)
+			firstDay = lastDay = 0;
+
+		byDeparture = sortedBy(departure);
+		departures = new long[n];
+		arrivals = new long[n];
+		for (int k = 0; k < n; k++) {
+			departures[k] = departure[byDeparture[k]];
+			arrivals[k] = arrival[byDeparture[k]];
+			longest = Math.max(longest, arrivals[k] - departures[k]);
+		}
+
+		/* secondary indices: stable bucketing of the flights already sorted by time */
+		dayOffsets = new int[lastDay - firstDay + 2];
+		byDay = new int[n];
+		for (int i = 0; i < n; i++) {
+			day[i] -= firstDay;
+		}
+		bucket(byDeparture, day, dayOffsets, byDay);
+
+		originOffsets = new int[airportsCount + 1];
+		byOrigin = new int[n];
+		bucket(byDeparture, origin, originOffsets, byOrigin);
+		originDepartures = new long[n];
+		for (int k = 0; k < n; k++) {
+			originDepartures[k] = departure[byOrigin[k]];
+		}
+
+		destinationOffsets = new int[airportsCount + 1];
+		byDestination = new int[n];
+		bucket(sortedBy(arrival), destination, destinationOffsets, byDestination);
+		destinationArrivals = new long[n];
+		for (int k = 0; k < n; k++) {
+			destinationArrivals[k] = arrival[byDestination[k]];
+		}
+	}
+
+	/**
+	 * @return indices of the flights sorted by the given times, stable
+	 */
+	private static int[] sortedBy(long[] times) {
+		int n = times.length;
+		/* sorting objects is a stable merge sort */
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		final long[] t = times;
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer a, Integer b) {
+				return t[a] < t[b] ? -1 : (t[a] > t[b] ? 1 : 0);
+			}
+		});
+		int[] sorted = new int[n];
+		for (int i = 0; i < n; i++) {
+			sorted[i] = order[i];
+		}
+		return sorted;
+	}
+
+	/**
+	 * Groups the flights of order by key, keeping their order inside each group.
+	 */
+	private static void bucket(int[] order, int[] key, int[] offsets, int[] grouped) {
+		for (int f : order) {
+			offsets[key[f] + 1]++;
+		}
+		for (int k = 1; k < offsets.length; k++) {
+			offsets[k] += offsets[k - 1];
+		}
+		int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+		for (int f : order) {
+			grouped[next[key[f]]++] = f;
+		}
+	}
+
+	/**
+	 * @return first position in [from, to) of times with a time not before time
+	 */
+	private static int lowerBound(long[] times, int from, int to, long time) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+			if (times[mid] < time)
+				from = mid + 1;
+			else
+				to = mid;
+		}
+		return from;
+	}
+
+	private static int[] range(int[] flights, long[] times, int from, int to, long start, long end) {
+		int first = lowerBound(times, from, to, start);
+		int last = lowerBound(times, first, to, end);
+		return Arrays.copyOfRange(flights, first, last);
+	}
+
+	/**
+	 * @return number of flights
+	 */
+	public int size() {
+		return byDeparture.length;
+	}
+
+	/**
+	 * @return index of the flight on the given position in departure order
+	 */
+	public int getFlight(int position) {
+		return byDeparture[position];
+	}
+
+	/**
+	 * @return flights departing in [start, end), in minutes since the epoch, sorted by departure
+	 */
+	public int[] departingBetween(long start, long end) {
+		return range(byDeparture, departures, 0, departures.length, start, end);
+	}
+
+	/**
+	 * @return flights between departure and arrival at some time in [start, end): the ones
+	 * departing in it and the ones departed before and still flying, sorted by departure
+	 */
+	public int[] overlapping(long start, long end) {
+		/* no flight departing before start - longest arrives after start */
+		int first = lowerBound(departures, 0, departures.length, start - longest);
+		int last = lowerBound(departures, first, departures.length, end);
+		int[] flights = new int[last - first];
+		int n = 0;
+		for (int k = first; k < last; k++) {
+			if (arrivals[k] > start)
+				flights[n++] = byDeparture[k];
+		}
+		return Arrays.copyOf(flights, n);
+	}
+
+	/**
+	 * @param airport id of the origin in SymbolTable.AIRPORTS
+	 * @return flights departing the airport in [start, end), sorted by departure
+	 */
+	public int[] departingBetween(int airport, long start, long end) {
+		if (airport < 0 || airport >= originOffsets.length - 1)
+			return new int[0];
+		return range(byOrigin, originDepartures, originOffsets[airport], originOffsets[airport + 1], start, end);
+	}
+
+	/**
+	 * @param airport id of the destination in SymbolTable.AIRPORTS
+	 * @return flights arriving at the airport in [start, end), sorted by arrival
+	 */
+	public int[] arrivingBetween(int airport, long start, long end) {
+		if (airport < 0 || airport >= destinationOffsets.length - 1)
+			return new int[0];
+		return range(byDestination, destinationArrivals, destinationOffsets[airport], destinationOffsets[airport + 1], start, end);
+	}
+
+	/**
+	 * @return flights of the day (flight date), sorted by departure
+	 */
+	public int[] flightsOfDay(Date day) {
+		int d = day.toEpochDay() - firstDay;
+		if (d < 0 || d >= dayOffsets.length - 1)
+			return new int[0];
+		return Arrays.copyOfRange(byDay, dayOffsets[d], dayOffsets[d + 1]);
+	}
+}
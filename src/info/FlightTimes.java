@@ -0,0 +1,89 @@
+package info;
+
+import java.util.List;
+
+/**
+ * Scheduled times, days and airports of the flights, as primitive arrays indexed
+ * by flight, used for checking the feasibility of the aircraft assignments.
+ */
+public class FlightTimes {
+	private long[] departures;
+	private long[] arrivals;
+	private int[] origins;
+	private int[] destinations;
+	private int[] days;
+	private int firstDay;
+	private int daysCount;
+
+	public FlightTimes(List<Flight> flights) {
+		int n = flights.size();
+		departures = new long[n];
+		arrivals = new long[n];
+		origins = new int[n];
+		destinations = new int[n];
+		days = new int[n];
+		for (int i = 0; i < n; i++) {
+			Flight flight = flights.get(i);
+			departures[i] = flight.getSchedule_time_of_departure().toEpochMinute();
+			arrivals[i] = flight.getSchedule_time_of_arrival().toEpochMinute();
+			origins[i] = flight.getOrigin_id();
+			destinations[i] = flight.getDestination_id();
+			days[i] = flight.getFlight_date().toEpochDay();
+		}
+		/* days are counted from the first day of the plan */
+		firstDay = n == 0 ? 0 : Integer.MAX_VALUE;
+		for (int i = 0; i < n; i++) {
+			firstDay = Math.min(firstDay, days[i]);
+		}
+		for (int i = 0; i < n; i++) {
+			days[i] -= firstDay;
+			daysCount = Math.max(daysCount, days[i] + 1);
+		}
+	}
+
+	/**
+	 * @return scheduled departure of the flight, in minutes since the epoch
+	 */
+	public long getDeparture(int flight) {
+		return departures[flight];
+	}
+
+	/**
+	 * @return scheduled arrival of the flight, in minutes since the epoch
+	 */
+	public long getArrival(int flight) {
+		return arrivals[flight];
+	}
+
+	/**
+	 * @return id of the origin of the flight in SymbolTable.AIRPORTS
+	 */
+	public int getOrigin(int flight) {
+		return origins[flight];
+	}
+
+	public int getDestination(int flight) {
+		return destinations[flight];
+	}
+
+	/**
+	 * @return day of the flight, counted from the first day of the plan
+	 */
+	public int getDay(int flight) {
+		return days[flight];
+	}
+
+	/**
+	 * @return first day of the plan, in days since the epoch
+	 */
+	public int getFirstDay() {
+		return firstDay;
+	}
+
+	/**
+	 * @return number of days of the plan
+	 */
+	public int getDaysCount() {
+		return daysCount;
+	}
+}
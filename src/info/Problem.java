@@ -0,0 +1,143 @@
+package info;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the data of one scheduling problem: the flights to be
+ * scheduled, the aircrafts that can operate them and the tables derived from
+ * them. One problem can be shared by any number of solvers running concurrently.
+ */
+public class Problem {
+	private final List<Flight> flights;
+	private final List<Aircraft> aircrafts;
+	private final List<AircraftModel> aircraft_models;
+	private final List<CityPair> city_pairs;
+	private final List<AirportCharge> airport_charges;
+	private final List<Event> events;
+	private final boolean allowed_to_cancel;
+	private final List<Unavailability> unavailabilities;
+	private final CityPairIndex cityPairIndex;
+	private final AirportChargeIndex airportChargeIndex;
+	private final FlightKeyIndex flightKeys;
+	private final FlightTimeline timeline;
+	private final CostTable costs;
+	private final CandidateLists candidates;
+	private final FlightTimes flightTimes;
+
+	/**
+	 * @param allowed_to_cancel if flights can be cancelled, by assigning them the fake
+	 * aircraft that is added after the given aircrafts
+	 */
+	public Problem(List<Flight> flights, List<Aircraft> aircrafts, List<AircraftModel> aircraft_models,
+			List<CityPair> city_pairs, List<AirportCharge> airport_charges, List<Event> events,
+			boolean allowed_to_cancel) {
+		this(flights, aircrafts, aircraft_models, city_pairs, airport_charges, events, allowed_to_cancel,
+				new ArrayList<Unavailability>());
+	}
+
+	/**
+	 * @param unavailabilities periods in which aircrafts can not operate any flight of the problem
+	 */
+	public Problem(List<Flight> flights, List<Aircraft> aircrafts, List<AircraftModel> aircraft_models,
+			List<CityPair> city_pairs, List<AirportCharge> airport_charges, List<Event> events,
+			boolean allowed_to_cancel, List<Unavailability> unavailabilities) {
+		ArrayList<Aircraft> allAircrafts = new ArrayList<Aircraft>(aircrafts);
+		if (allowed_to_cancel) {
+			Aircraft fake = new Aircraft();
+			fake.setIndex(allAircrafts.size());
+			allAircrafts.add(fake);
+		}
+		this.flights = Collections.unmodifiableList(new ArrayList<Flight>(flights));
+		this.aircrafts = Collections.unmodifiableList(allAircrafts);
+		this.aircraft_models = Collections.unmodifiableList(new ArrayList<AircraftModel>(aircraft_models));
+		this.city_pairs = Collections.unmodifiableList(new ArrayList<CityPair>(city_pairs));
+		this.airport_charges = Collections.unmodifiableList(new ArrayList<AirportCharge>(airport_charges));
+		this.events = Collections.unmodifiableList(new ArrayList<Event>(events));
+		this.allowed_to_cancel = allowed_to_cancel;
+		this.unavailabilities = Collections.unmodifiableList(new ArrayList<Unavailability>(unavailabilities));
+		this.flightKeys = new FlightKeyIndex();
+		for (int i = 0; i < this.flights.size(); i++) {
+			flightKeys.add(this.flights.get(i), i);
+		}
+		this.cityPairIndex = new CityPairIndex(this.city_pairs);
+		this.airportChargeIndex = new AirportChargeIndex(this.airport_charges);
+		this.costs = new CostTable(this.flights, this.aircrafts, this.aircraft_models, cityPairIndex,
+				airportChargeIndex);
+		this.candidates = new CandidateLists(this.flights, this.aircrafts, this.aircraft_models, costs);
+		this.flightTimes = new FlightTimes(this.flights);
+		this.timeline = new FlightTimeline(this.flights);
+	}
+
+	/**
+	 * @return snapshot of the data currently read into DATA
+	 */
+	public static Problem fromDATA(boolean allowed_to_cancel) {
+		synchronized (DATA.class) {
+			return new Problem(DATA.getFlights(), DATA.getAircrafts(), DATA.getAircraft_models(),
+					DATA.getCity_pairs(), DATA.getAirport_charges(), DATA.getEvents(), allowed_to_cancel);
+		}
+	}
+
+	public List<Flight> getFlights() {
+		return flights;
+	}
+	public List<Aircraft> getAircrafts() {
+		return aircrafts;
+	}
+	public List<AircraftModel> getAircraft_models() {
+		return aircraft_models;
+	}
+	public List<CityPair> getCity_pairs() {
+		return city_pairs;
+	}
+	public List<AirportCharge> getAirport_charges() {
+		return airport_charges;
+	}
+	public List<Event> getEvents() {
+		return events;
+	}
+	/**
+	 * @return index of the first flight with the number and date, -1 if there is none
+	 */
+	public int getFlightIndex(String flight_number, Date flight_date) {
+		return flightKeys.get(flight_number, flight_date);
+	}
+	/**
+	 * @return index of the leg of the flight from origin to destination, -1 if there is none
+	 */
+	public int getFlightIndex(String flight_number, Date flight_date, String origin, String destination) {
+		return flightKeys.get(flight_number, flight_date, origin, destination);
+	}
+	public boolean isAllowed_to_cancel() {
+		return allowed_to_cancel;
+	}
+	public List<Unavailability> getUnavailabilities() {
+		return unavailabilities;
+	}
+	public CityPairIndex getCityPairIndex() {
+		return cityPairIndex;
+	}
+	public AirportChargeIndex getAirportChargeIndex() {
+		return airportChargeIndex;
+	}
+	public CostTable getCosts() {
+		return costs;
+	}
+	/**
+	 * @return aircrafts with the capacity for each flight, sorted by cost
+	 */
+	public CandidateLists getCandidates() {
+		return candidates;
+	}
+	public FlightTimes getFlightTimes() {
+		return flightTimes;
+	}
+	/**
+	 * @return flights sorted by departure, with indices by day and airport
+	 */
+	public FlightTimeline getTimeline() {
+		return timeline;
+	}
+}
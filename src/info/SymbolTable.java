@@ -0,0 +1,59 @@
+package info;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps the codes of the data (airports, fleets, aircraft models) to dense int ids,
+ * 0 for the first code seen, 1 for the next... so lookups by code can be array reads.
+ * The ids of a code never change while the program runs; the objects of the data get
+ * the ids of their codes when they are created.
+ */
+public class SymbolTable {
+	/* IATA codes of the airports */
+	public static final SymbolTable AIRPORTS = new SymbolTable();
+	/* Fleets of the aircraft models (NB, WB...) */
+	public static final SymbolTable FLEETS = new SymbolTable();
+	/* Aircraft models (A319, A320...) */
+	public static final SymbolTable AIRCRAFT_MODELS = new SymbolTable();
+
+	private HashMap<String, Integer> ids = new HashMap<String, Integer>();
+	private String[] codes = new String[16];
+	private int size;
+
+	/**
+	 * @return id of the code, adding it to the table if it is new, or -1 for null
+	 */
+	public synchronized int id(String code) {
+		if (code == null)
+			return -1;
+		Integer id = ids.get(code);
+		if (id == null) {
+			id = size;
+			if (size == codes.length)
+				codes = Arrays.copyOf(codes, size * 2);
+			codes[size++] = code;
+			ids.put(code, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @return id of the code, or -1 if the code is not in the table
+	 */
+	public synchronized int find(String code) {
+		Integer id = ids.get(code);
+		return id == null ? -1 : id;
+	}
+
+	public synchronized String code(int id) {
+		return codes[id];
+	}
+
+	/**
+	 * @return number of codes in the table, all ids are lower than it
+	 */
+	public synchronized int size() {
+		return size;
+	}
+}
@@ -0,0 +1,31 @@
+package info;
+
+/**
+ * Period in which an aircraft of a problem can not operate flights, e.g. while it
+ * is being repaired or while it operates flights that are not part of the problem.
+ */
+public class Unavailability {
+	private int aircraft; // index of the aircraft in the problem
+	private long start; // minutes since the epoch
+	private long end; // minutes since the epoch, exclusive
+
+	public Unavailability(int aircraft, long start, long end) {
+		this.aircraft = aircraft;
+		this.start = start;
+		this.end = end;
+	}
+
+	public int getAircraft() {
+		return aircraft;
+	}
+	public long getStart() {
+		return start;
+	}
+	public long getEnd() {
+		return end;
+	}
+
+	public String toString() {
+		return aircraft + "~" + start + "~" + end;
+	}
+}
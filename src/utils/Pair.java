@@ -22,10 +22,6 @@ public class Pair {
 	public Flight getFlight() {
 		return flight;
 	}
-	public void setAircraft(Aircraft aircraft, int index) {
-		this.aircraft = aircraft;
-		this.aircraft.setIndex(index);
-	}
 	public void setAircraft(Aircraft aircraft) {
 		this.aircraft = aircraft;
 	}
@@ -0,0 +1,267 @@
+package utils;
+
+import info.*;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Binary snapshot of the contents of DATA, written once after the data files are
+ * parsed and memory-mapped on later runs instead of parsing them again.
+ *
+ * Format (big endian): magic, version, the table of all the distinct strings
+ * (codes, descriptions), then the aircraft models, aircrafts, airport charges, city
+ * pairs, events and flights, each list preceded by its size. Strings are stored as
+ * their index in the table, so every code is read once and shared by all the objects
+ * using it. Dates are stored as epoch minutes.
+ */
+public class Snapshot {
+	private static final int MAGIC = 0x41424353; // "ABCS"
+	private static final int VERSION = 1;
+
+	/* Kinds of stored dates */
+	private static final byte NULL_DATE = 0;
+	private static final byte DATE_TIME = 1; // epoch minute
+	private static final byte TIME = 2; // minute of the day, for durations (no date)
+
+	/**
+	 * Writes the contents of DATA to the file.
+	 */
+	public static void write(String fileName) throws IOException {
+		synchronized (DATA.class) {
+			HashMap<String, Integer> ids = new HashMap<String, Integer>();
+			ArrayList<String> strings = new ArrayList<String>();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream body = new DataOutputStream(bytes);
+
+			body.writeInt(DATA.getAircraft_models().size());
+			for (AircraftModel am : DATA.getAircraft_models()) {
+				writeString(body, am.getAircraft_model(), ids, strings);
+				writeString(body, am.getDescription(), ids, strings);
+				writeString(body, am.getFleet(), ids, strings);
+				body.writeInt(am.getCapacity());
+				body.writeInt(am.getMtow());
+				body.writeDouble(am.getAtc_avg_cost_nautical_mile());
+				body.writeDouble(am.getMaintenance_avg_cost_minute());
+				body.writeDouble(am.getFuel_avg_cost_minute());
+				body.writeInt(am.getAirport_handling_cost());
+				body.writeInt(am.getCpt());
+				body.writeInt(am.getOpt());
+				body.writeInt(am.getScb());
+				body.writeInt(am.getCcb());
+				body.writeInt(am.getCab());
+			}
+
+			body.writeInt(DATA.getAircrafts().size());
+			for (Aircraft a : DATA.getAircrafts()) {
+				writeString(body, a.getTail_number(), ids, strings);
+				writeString(body, a.getAircraft_model_code(), ids, strings);
+				writeString(body, a.getAircraft_model(), ids, strings);
+			}
+
+			body.writeInt(DATA.getAirport_charges().size());
+			for (AirportCharge ac : DATA.getAirport_charges()) {
+				writeString(body, ac.getIata_code(), ids, strings);
+				writeString(body, ac.getFleet(), ids, strings);
+				writeString(body, ac.getCharge_type(), ids, strings);
+				body.writeDouble(ac.getCharge());
+			}
+
+			body.writeInt(DATA.getCity_pairs().size());
+			for (CityPair cp : DATA.getCity_pairs()) {
+				writeString(body, cp.getOrigin(), ids, strings);
+				writeString(body, cp.getOrigin_description(), ids, strings);
+				body.writeDouble(cp.getOrigin_latitude());
+				body.writeDouble(cp.getOrigin_longitude());
+				writeString(body, cp.getDestination(), ids, strings);
+				writeString(body, cp.getDestination_description(), ids, strings);
+				body.writeDouble(cp.getDestination_latitude());
+				body.writeDouble(cp.getDestination_longitude());
+				body.writeDouble(cp.getDistance_in_nautical_miles());
+				body.writeDouble(cp.getDistance_in_km());
+			}
+
+			body.writeInt(DATA.getEvents().size());
+			for (Event e : DATA.getEvents()) {
+				body.writeInt(e.getEvent_id());
+				writeDate(body, e.getEvent_time());
+				writeString(body, e.getEvent_type(), ids, strings);
+				writeString(body, e.getEvent_cause(), ids, strings);
+				writeString(body, e.getResource_affected(), ids, strings);
+				writeString(body, e.getResource_type(), ids, strings);
+				body.writeInt(e.getResource_cap());
+				writeString(body, e.getCrew_res_type(), ids, strings);
+				body.writeInt(e.getEstimated_time_to_solve());
+				writeDate(body, e.getFlight_date());
+				writeString(body, e.getFlight_number(), ids, strings);
+				writeDate(body, e.getScheduled_time_of_departure());
+				writeDate(body, e.getScheduled_time_of_arrival());
+				writeDate(body, e.getEstimated_time_of_departure());
+				writeDate(body, e.getEstimated_time_of_arrival());
+				writeString(body, e.getOrigin(), ids, strings);
+				writeString(body, e.getDestination(), ids, strings);
+				body.writeInt(e.getDeparture_delay_in_minutes());
+				body.writeInt(e.getBus_pax());
+				body.writeInt(e.getEcon_pax());
+				body.writeInt(e.getTotal_pax());
+				writeDate(body, e.getScheduled_trip_time());
+				writeDate(body, e.getEstimated_trip_time());
+				body.writeDouble(e.getScheduled_cost_aircraft());
+				body.writeDouble(e.getScheduled_cost_crew());
+				body.writeDouble(e.getScheduled_cost_passenger());
+			}
+
+			body.writeInt(DATA.getFlights().size());
+			for (Flight f : DATA.getFlights()) {
+				writeDate(body, f.getFlight_date());
+				writeString(body, f.getFlight_number(), ids, strings);
+				writeString(body, f.getOrigin(), ids, strings);
+				writeString(body, f.getDestination(), ids, strings);
+				writeString(body, f.getFlight_carrier(), ids, strings);
+				writeDate(body, f.getSchedule_time_of_departure());
+				writeDate(body, f.getSchedule_time_of_arrival());
+				body.writeInt(f.getBus_seats());
+				body.writeInt(f.getEcon_seats());
+				body.writeInt(f.getTotal_seats());
+				writeString(body, f.getTail_number(), ids, strings);
+				body.writeInt(f.getBus_seats_sold());
+				body.writeInt(f.getEcon_seats_sold());
+				body.writeInt(f.getTotal_seats_sold());
+			}
+			body.flush();
+
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(strings.size());
+				for (String s : strings) {
+					byte[] b = s.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(b.length);
+					out.write(b);
+				}
+				bytes.writeTo(out);
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+	/**
+	 * Replaces the contents of DATA with the contents of the snapshot file.
+	 * @throws IOException if the file can not be read or was written by another version
+	 */
+	public static void read(String fileName) throws IOException {
+		MappedByteBuffer in;
+		FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+		try {
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			channel.close();
+		}
+
+		synchronized (DATA.class) {
+			DATA.clear();
+			try {
+				if (in.getInt() != MAGIC)
+					throw new IOException(fileName + " is not a snapshot");
+				int version = in.getInt();
+				if (version != VERSION)
+					throw new IOException(fileName + " has version " + version + ", expected " + VERSION);
+
+				String[] strings = new String[in.getInt()];
+				byte[] b = new byte[64];
+				for (int i = 0; i < strings.length; i++) {
+					int length = in.getInt();
+					if (length > b.length)
+						b = new byte[length];
+					in.get(b, 0, length);
+					strings[i] = new String(b, 0, length, StandardCharsets.UTF_8);
+				}
+
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addAircraftModel(new AircraftModel(readString(in, strings), readString(in, strings), readString(in, strings), in.getInt(), in.getInt(), in.getDouble(), in.getDouble(), in.getDouble(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt()));
+				}
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addAircraft(new Aircraft(readString(in, strings), readString(in, strings), readString(in, strings)));
+				}
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addAirportCharge(new AirportCharge(readString(in, strings), readString(in, strings), readString(in, strings), in.getDouble()));
+				}
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addCityPair(new CityPair(readString(in, strings), readString(in, strings), in.getDouble(), in.getDouble(), readString(in, strings), readString(in, strings), in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble()));
+				}
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addEvent(new Event(in.getInt(), readDate(in), readString(in, strings), readString(in, strings), readString(in, strings), readString(in, strings), in.getInt(), readString(in, strings), in.getInt(), readDate(in), readString(in, strings), readDate(in), readDate(in), readDate(in), readDate(in), readString(in, strings), readString(in, strings), in.getInt(), in.getInt(), in.getInt(), in.getInt(), readDate(in), readDate(in), in.getDouble(), in.getDouble(), in.getDouble()));
+				}
+				for (int i = in.getInt(); i > 0; i--) {
+					DATA.addFlight(new Flight(readDate(in), readString(in, strings), readString(in, strings), readString(in, strings), readString(in, strings), readDate(in), readDate(in), in.getInt(), in.getInt(), in.getInt(), readString(in, strings), in.getInt(), in.getInt(), in.getInt()));
+				}
+			} catch (RuntimeException e) {
+				/* buffer underflow, string index out of bounds... */
+				throw new IOException(fileName + " is truncated or corrupted", e);
+			}
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s, HashMap<String, Integer> ids, ArrayList<String> strings) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		Integer id = ids.get(s);
+		if (id == null) {
+			id = strings.size();
+			ids.put(s, id);
+			strings.add(s);
+		}
+		out.writeInt(id);
+	}
+
+	private static String readString(MappedByteBuffer in, String[] strings) {
+		int id = in.getInt();
+		return id < 0 ? null : strings[id];
+	}
+
+	private static void writeDate(DataOutputStream out, Date d) throws IOException {
+		if (d == null) {
+			out.writeByte(NULL_DATE);
+		} else if (d.getAno() == 0 && d.getMes() == 0 && d.getDia() == 0) {
+			out.writeByte(TIME);
+			out.writeLong(d.getHora() * 60 + d.getMinuto());
+			out.writeByte(d.getSegundo());
+		} else {
+			out.writeByte(DATE_TIME);
+			out.writeLong(d.toEpochMinute());
+			out.writeByte(d.getSegundo());
+		}
+	}
+
+	private static Date readDate(MappedByteBuffer in) throws IOException {
+		byte kind = in.get();
+		if (kind == NULL_DATE)
+			return null;
+		if (kind != TIME && kind != DATE_TIME)
+			throw new IOException("Unknown date kind " + kind);
+		long minutes = in.getLong();
+		int segundo = in.get();
+		Date d;
+		if (kind == TIME) {
+			d = new Date(0, 0, 0, (int) (minutes / 60), (int) (minutes % 60), segundo);
+		} else {
+			d = Date.ofEpochMinute(minutes);
+			d.setSegundo(segundo);
+		}
+		return d;
+	}
+}
@@ -0,0 +1,193 @@
+package utils;
+
+import info.Date;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Single pass tokenizer for the tuples of the data files - ('a','b',1,'2.5'),
+ * The file is memory-mapped and every field is parsed straight from its bytes,
+ * so the only objects created are the final values (strings and dates).
+ */
+class TupleReader {
+	private static final Charset CHARSET = Charset.defaultCharset();
+	/* Powers of ten exactly representable as doubles */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final String fileName;
+	private final MappedByteBuffer buffer;
+	private final int size;
+	private int position;
+	private byte[] chars = new byte[64];
+
+	/* Bounds of the last field read, without quotes */
+	private int start, end;
+
+	public TupleReader(String fileName) throws IOException {
+		this.fileName = fileName;
+		FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+		try {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException(fileName + " is too large to be mapped");
+			this.size = (int) channel.size();
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} finally {
+			/* the mapping stays valid after the channel is closed */
+			channel.close();
+		}
+	}
+
+	/**
+	 * Moves to the start of the next tuple.
+	 * @return false if there are no more tuples in the file
+	 */
+	public boolean nextTuple() {
+		while (position < size) {
+			if (buffer.get(position++) == '(')
+				return true;
+		}
+		return false;
+	}
+
+	public String nextString() throws IOException {
+		nextField();
+		int length = end - start;
+		if (length > chars.length)
+			chars = new byte[Math.max(length, chars.length * 2)];
+		for (int i = 0; i < length; i++) {
+			chars[i] = buffer.get(start + i);
+		}
+		return new String(chars, 0, length, CHARSET);
+	}
+
+	public int nextInt() throws IOException {
+		nextField();
+		return (int) parseLong(start, end);
+	}
+
+	public double nextDouble() throws IOException {
+		nextField();
+		int i = start;
+		boolean negative = i < end && buffer.get(i) == '-';
+		if (negative)
+			i++;
+		long mantissa = 0;
+		int digits = 0, decimals = 0;
+		boolean point = false;
+		for (; i < end; i++) {
+			byte b = buffer.get(i);
+			if (b == '.' && !point) {
+				point = true;
+			} else if (b >= '0' && b <= '9') {
+				mantissa = mantissa * 10 + (b - '0');
+				digits++;
+				if (point)
+					decimals++;
+			} else {
+				digits = Integer.MAX_VALUE;
+				break;
+			}
+		}
+		/* Exact mantissa divided by an exact power of ten is correctly rounded, as parseDouble */
+		if (digits == 0 || digits > 15 || decimals >= POWERS_OF_TEN.length) {
+			try {
+				return Double.parseDouble(fieldString());
+			} catch (NumberFormatException e) {
+				throw malformed("number");
+			}
+		}
+		double value = mantissa / POWERS_OF_TEN[decimals];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Reads a date (yyyy-mm-dd), a time (hh:mm:ss) or both (yyyy-mm-dd hh:mm:ss).
+	 */
+	public Date nextDate() throws IOException {
+		nextField();
+		int length = end - start;
+		if (length == 8)
+			return new Date(0, 0, 0, (int) parseLong(start, start + 2), (int) parseLong(start + 3, start + 5), (int) parseLong(start + 6, start + 8));
+		if (length != 10 && length != 19)
+			throw malformed("date");
+		int ano = (int) parseLong(start, start + 4);
+		int mes = (int) parseLong(start + 5, start + 7);
+		int dia = (int) parseLong(start + 8, start + 10);
+		if (length == 10)
+			return new Date(ano, mes, dia, 0, 0, 0);
+		return new Date(ano, mes, dia, (int) parseLong(start + 11, start + 13), (int) parseLong(start + 14, start + 16), (int) parseLong(start + 17, start + 19));
+	}
+
+	/**
+	 * Finds the bounds of the next field of the tuple, quoted or not.
+	 */
+	private void nextField() throws IOException {
+		skipSpaces();
+		if (position < size && buffer.get(position) == ',') {
+			position++;
+			skipSpaces();
+		}
+		start = position;
+		if (position >= size)
+			throw malformed("field");
+		if (buffer.get(position) == '\'') {
+			start = ++position;
+			while (position < size && buffer.get(position) != '\'')
+				position++;
+			if (position >= size)
+				throw malformed("quoted field");
+			end = position++;
+		} else {
+			while (position < size) {
+				byte b = buffer.get(position);
+				if (b == ',' || b == ')')
+					break;
+				position++;
+			}
+			end = position;
+			while (end > start && buffer.get(end - 1) <= ' ')
+				end--;
+		}
+	}
+
+	private void skipSpaces() {
+		while (position < size && buffer.get(position) <= ' ')
+			position++;
+	}
+
+	private long parseLong(int from, int to) throws IOException {
+		int i = from;
+		boolean negative = i < to && buffer.get(i) == '-';
+		if (negative)
+			i++;
+		if (i == to)
+			throw malformed("integer");
+		long value = 0;
+		for (; i < to; i++) {
+			byte b = buffer.get(i);
+			if (b < '0' || b > '9')
+				throw malformed("integer");
+			value = value * 10 + (b - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	private String fieldString() {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, CHARSET);
+	}
+
+	private IOException malformed(String what) {
+		return new IOException("Malformed " + what + " in " + fileName + " at byte " + start);
+	}
+}